@@ -0,0 +1,50 @@
+package com.hungersaviour.gateway.bff;
+
+import com.hungersaviour.security.jwt.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composite endpoint for the app home screen, served by the gateway itself. Global filters
+ * only apply to routed requests, so the token is verified here.
+ */
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private HomeService homeService;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @GetMapping
+    public Mono<ResponseEntity<HomeResponse>> home(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                   @RequestParam(required = false) Double lat,
+                                                   @RequestParam(required = false) Double lng) {
+        Claims caller = null;
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            try {
+                caller = jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+            } catch (JwtException e) {
+                // tell the app to refresh its token rather than silently showing the anonymous screen
+                return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                        .build());
+            }
+        }
+        return homeService.home(caller, lat, lng)
+                .map(home -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .body(home));
+    }
+}
@@ -0,0 +1,23 @@
+package com.hungersaviour.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the app's home screen needs in one payload. Parts are passed through as the
+ * backing services return them; a part that failed or timed out is null and named in
+ * {@code unavailable}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeResponse {
+    private JsonNode profile;
+    private JsonNode restaurants;
+    private JsonNode recentOrders;
+    private List<String> unavailable;
+}
@@ -0,0 +1,126 @@
+package com.hungersaviour.gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.hungersaviour.gateway.security.JwtAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Fans out to user-, restaurant- and order-service in parallel. Each part has its own timeout
+ * and failures only drop that part, so a slow service never holds up or breaks the screen.
+ */
+@Service
+@Slf4j
+public class HomeService {
+
+    private final WebClient webClient;
+
+    @Value("${gateway.bff.home.profile-timeout-ms:800}")
+    private long profileTimeoutMillis;
+
+    @Value("${gateway.bff.home.restaurants-timeout-ms:1000}")
+    private long restaurantsTimeoutMillis;
+
+    @Value("${gateway.bff.home.orders-timeout-ms:1000}")
+    private long ordersTimeoutMillis;
+
+    @Value("${gateway.bff.home.restaurant-limit:20}")
+    private int restaurantLimit;
+
+    @Value("${gateway.bff.home.order-limit:5}")
+    private int orderLimit;
+
+    public HomeService(WebClient.Builder loadBalancedWebClientBuilder) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+
+    /**
+     * @param caller verified token claims, or {@code null} for an anonymous visitor, who only
+     *               gets restaurants
+     */
+    public Mono<HomeResponse> home(Claims caller, Double latitude, Double longitude) {
+        List<String> unavailable = new CopyOnWriteArrayList<>();
+        Object userId = caller == null ? null : caller.get("uid");
+
+        Mono<Optional<JsonNode>> profile = userId == null ? Mono.just(Optional.empty())
+                : part("profile", fetch("lb://user-service", uri -> uri.path("/api/users/{id}").build(userId), caller),
+                        profileTimeoutMillis, unavailable);
+        Mono<Optional<JsonNode>> restaurants = part("restaurants", fetchRestaurants(latitude, longitude),
+                restaurantsTimeoutMillis, unavailable);
+        Mono<Optional<JsonNode>> orders = userId == null ? Mono.just(Optional.empty())
+                : part("recentOrders", fetch("lb://order-service",
+                        uri -> uri.path("/api/orders/user/{id}").queryParam("limit", orderLimit).build(userId), caller),
+                        ordersTimeoutMillis, unavailable);
+
+        return Mono.zip(profile, restaurants, orders)
+                .map(parts -> new HomeResponse(parts.getT1().orElse(null), parts.getT2().orElse(null),
+                        parts.getT3().orElse(null), List.copyOf(unavailable)));
+    }
+
+    private Mono<JsonNode> fetchRestaurants(Double latitude, Double longitude) {
+        if (latitude != null && longitude != null) {
+            return fetch("lb://restaurant-service", uri -> uri.path("/api/restaurants/nearby")
+                    .queryParam("lat", latitude)
+                    .queryParam("lng", longitude)
+                    .queryParam("size", restaurantLimit)
+                    .build(), null);
+        }
+        return fetch("lb://restaurant-service", uri -> uri.path("/api/restaurants").build(), null)
+                .map(this::firstRestaurants);
+    }
+
+    private JsonNode firstRestaurants(JsonNode restaurants) {
+        if (!restaurants.isArray() || restaurants.size() <= restaurantLimit) {
+            return restaurants;
+        }
+        ArrayNode trimmed = ((ArrayNode) restaurants).arrayNode();
+        for (int i = 0; i < restaurantLimit; i++) {
+            trimmed.add(restaurants.get(i));
+        }
+        return trimmed;
+    }
+
+    // Forwards the caller the way JwtAuthenticationFilter does for routed requests
+    private Mono<JsonNode> fetch(String service, Function<UriBuilder, URI> uri, Claims caller) {
+        return webClient.get()
+                .uri(service, uri)
+                .headers(headers -> {
+                    if (caller != null) {
+                        headers.set(JwtAuthenticationFilter.USER_ID_HEADER, String.valueOf(caller.get("uid")));
+                        headers.set(JwtAuthenticationFilter.USER_EMAIL_HEADER, caller.getSubject());
+                        Object role = caller.get("role");
+                        if (role != null) {
+                            headers.set(JwtAuthenticationFilter.USER_ROLE_HEADER, role.toString());
+                        }
+                    }
+                    headers.set(HttpHeaders.ACCEPT, "application/json");
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private Mono<Optional<JsonNode>> part(String name, Mono<JsonNode> call, long timeoutMillis, List<String> unavailable) {
+        return call.timeout(Duration.ofMillis(timeoutMillis))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.debug("Home part {} unavailable: {}", name, e.toString());
+                    unavailable.add(name);
+                    return Mono.just(Optional.empty());
+                });
+    }
+}
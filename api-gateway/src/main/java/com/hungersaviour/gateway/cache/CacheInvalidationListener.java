@@ -0,0 +1,66 @@
+package com.hungersaviour.gateway.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Evicts cached responses when a backend announces a change on the invalidation channel.
+ * Messages are {@code <resource>:<id>} (e.g. {@code restaurants:42}) or just {@code <resource>}.
+ * Invalidations published while the subscription is down are lost, so the cache is cleared
+ * whenever it has to reconnect.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationListener {
+
+    @Autowired
+    private ReactiveRedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Value("${gateway.cache.invalidation-channel:gateway.cache.invalidations}")
+    private String channel;
+
+    private ReactiveRedisMessageListenerContainer container;
+    private Disposable subscription;
+
+    @PostConstruct
+    void subscribe() {
+        container = new ReactiveRedisMessageListenerContainer(connectionFactory);
+        subscription = container.receive(ChannelTopic.of(channel))
+                .doOnNext(message -> invalidate(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> {
+                            log.warn("Cache invalidation subscription lost, clearing cache: {}", signal.failure().getMessage());
+                            responseCache.clear();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        subscription.dispose();
+        container.destroy();
+    }
+
+    private void invalidate(String message) {
+        int separator = message.indexOf(':');
+        String resource = separator < 0 ? message : message.substring(0, separator);
+        String id = separator < 0 ? null : message.substring(separator + 1);
+        int evicted = responseCache.invalidate(resource, id);
+        log.debug("Invalidated {} cached responses for {}", evicted, message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hungersaviour.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Set;
+
+/**
+ * A stored 200 response. {@code tags} name what it was built from: {@code restaurants:42} for
+ * anything under one restaurant, plain {@code restaurants} for collections such as listings and
+ * search, so an invalidation can evict every response that depends on a changed resource.
+ */
+record CachedResponse(HttpHeaders headers, byte[] body, String etag, Set<String> tags,
+                      long storedAtMillis, long expiresAtMillis) {
+
+    boolean isFresh(long now) {
+        return now < expiresAtMillis;
+    }
+
+    long ageSeconds(long now) {
+        return Math.max(0, (now - storedAtMillis) / 1000);
+    }
+}
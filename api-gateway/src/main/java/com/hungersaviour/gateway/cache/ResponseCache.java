@@ -0,0 +1,127 @@
+package com.hungersaviour.gateway.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LRU store for gateway responses, bounded by total body size.
+ * <p>
+ * Each tag has a generation that invalidation increments. A miss captures the generation of
+ * its tags before it is forwarded, and its response is only stored if nothing it depends on
+ * was invalidated in the meantime; otherwise a response read before the change would outlive
+ * the invalidation meant to remove it.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, Long> generations = new HashMap<>();
+    private long globalGeneration;
+
+    public ResponseCache(@Value("${gateway.cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${gateway.cache.max-entry-bytes:1048576}") long maxEntryBytes,
+                         MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        Gauge.builder("gateway.cache.size", this, cache -> cache.totalBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.entries", this, cache -> cache.entries.size())
+                .register(meterRegistry);
+    }
+
+    synchronized CachedResponse get(String key, long now) {
+        CachedResponse entry = entries.get(key);
+        if (entry != null && !entry.isFresh(now)) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    // compared by put(); any invalidation affecting one of the tags changes it
+    synchronized long generation(Set<String> tags) {
+        long generation = globalGeneration;
+        for (String tag : tags) {
+            generation += generations.getOrDefault(tag, 0L);
+            int separator = tag.indexOf(':');
+            if (separator > 0) {
+                generation += generations.getOrDefault(tag.substring(0, separator) + ":*", 0L);
+            }
+        }
+        return generation;
+    }
+
+    /**
+     * Stores the response unless its tags were invalidated after {@code generation} was taken.
+     *
+     * @return whether the response was stored
+     */
+    synchronized boolean put(String key, CachedResponse entry, long generation) {
+        if (entry.body().length > maxEntryBytes || generation(entry.tags()) != generation) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, entry);
+        totalBytes += entry.body().length;
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().body().length;
+            eldest.remove();
+        }
+        return true;
+    }
+
+    /**
+     * Evicts the responses that depend on a changed resource: those tagged with it and every
+     * collection response of its type. With a {@code null} id, all responses of the type go.
+     *
+     * @param resource resource type, the path segment after {@code /api/} (e.g. {@code restaurants})
+     */
+    public synchronized int invalidate(String resource, String id) {
+        String itemTag = resource + ":" + id;
+        String itemPrefix = resource + ":";
+        generations.merge(resource, 1L, Long::sum);
+        generations.merge(id == null ? itemPrefix + "*" : itemTag, 1L, Long::sum);
+        int evicted = 0;
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CachedResponse entry = iterator.next();
+            boolean matches = entry.tags().contains(resource) || (id == null
+                    ? entry.tags().stream().anyMatch(tag -> tag.startsWith(itemPrefix))
+                    : entry.tags().contains(itemTag));
+            if (matches) {
+                totalBytes -= entry.body().length;
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public synchronized void clear() {
+        globalGeneration++;
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.body().length;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.hungersaviour.gateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves GETs on routes with {@code gateway.cache.routes.<route-id>.ttl-seconds} from
+ * {@link ResponseCache}. Freshness follows the origin's Cache-Control ({@code s-maxage}, then
+ * {@code max-age}; {@code no-store}, {@code no-cache} and {@code private} are never stored) and
+ * falls back to the route TTL. Cached responses carry an ETag, so revalidating clients get a
+ * 304 from the edge. Concurrent misses for the same key wait for the first one instead of all
+ * going to the origin.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Pattern RESOURCE_PATH = Pattern.compile("^/api/([^/]+)(?:/(\\d+))?(?:/.*)?$");
+    private static final Set<String> STORED_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.VARY);
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.cache.coalesce-timeout-ms:5000}")
+    private long coalesceTimeoutMillis;
+
+    @Value("${gateway.cache.max-entry-bytes:1048576}")
+    private long maxEntryBytes;
+
+    private final Map<String, Long> routeTtls = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null || request.getMethod() != HttpMethod.GET || isEventStream(request)) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        long routeTtl = routeTtls.computeIfAbsent(routeId,
+                id -> environment.getProperty("gateway.cache.routes." + id + ".ttl-seconds", Long.class, 0L));
+        if (routeTtl <= 0) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(request);
+        CachedResponse cached = responseCache.get(key, System.currentTimeMillis());
+        if (cached != null) {
+            return serve(exchange, cached, routeId, "hit");
+        }
+
+        CompletableFuture<CachedResponse> leader = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> pending = inFlight.putIfAbsent(key, leader);
+        if (pending != null) {
+            // completes with null if the leader's response turned out not to be cacheable
+            return Mono.fromFuture(pending)
+                    .timeout(Duration.ofMillis(coalesceTimeoutMillis))
+                    .onErrorResume(e -> Mono.empty())
+                    .flatMap(response -> serve(exchange, response, routeId, "coalesced"))
+                    .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+        }
+
+        meterRegistry.counter("gateway.cache.requests", "route", routeId, "result", "miss").increment();
+        // fetch the full response to store it, even if this client only revalidates
+        ServerHttpRequest unconditional = request.mutate().headers(headers -> {
+            headers.remove(HttpHeaders.IF_NONE_MATCH);
+            headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+        }).build();
+        Set<String> tags = tags(request);
+        ServerHttpResponse storing = new StoringResponse(exchange.getResponse(), key, tags,
+                responseCache.generation(tags), routeTtl, leader);
+        return chain.filter(exchange.mutate().request(unconditional).response(storing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, leader);
+                    leader.complete(null);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // after authentication and rate limiting, before the response is written
+        return Ordered.HIGHEST_PRECEDENCE + 300;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String routeId, String result) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(System.currentTimeMillis())));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (cached.etag() != null && ifNoneMatch != null && etagMatches(ifNoneMatch, cached.etag())) {
+            meterRegistry.counter("gateway.cache.requests", "route", routeId, "result", "not_modified").increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        meterRegistry.counter("gateway.cache.requests", "route", routeId, "result", result).increment();
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // Accept and gzip support select different representations, so they are part of the key
+    private String key(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        new TreeMap<>(request.getQueryParams()).forEach((name, values) -> values.stream().sorted()
+                .forEach(value -> key.append(key.indexOf("?") < 0 ? '?' : '&').append(name).append('=').append(value)));
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        key.append('|').append(accept == null ? MediaType.ALL_VALUE : accept);
+        key.append('|').append(acceptEncoding != null && acceptEncoding.contains("gzip") ? "gzip" : "identity");
+        return key.toString();
+    }
+
+    private Set<String> tags(ServerHttpRequest request) {
+        Matcher matcher = RESOURCE_PATH.matcher(request.getPath().value());
+        if (!matcher.matches()) {
+            return Set.of();
+        }
+        return matcher.group(2) == null ? Set.of(matcher.group(1)) : Set.of(matcher.group(1) + ":" + matcher.group(2));
+    }
+
+    private static boolean isEventStream(ServerHttpRequest request) {
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        String expected = weakless(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || weakless(candidate).equals(expected));
+    }
+
+    private static String weakless(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Seconds the response may be served from the cache; 0 if it must not be stored.
+     */
+    static long ttlSeconds(String cacheControl, long routeTtl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return routeTtl;
+        }
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String value = directive.trim();
+            if (value.equals("no-store") || value.equals("no-cache") || value.startsWith("private")) {
+                return 0;
+            }
+            try {
+                if (value.startsWith("s-maxage=")) {
+                    sharedMaxAge = Long.parseLong(value.substring("s-maxage=".length()));
+                } else if (value.startsWith("max-age=")) {
+                    maxAge = Long.parseLong(value.substring("max-age=".length()));
+                }
+            } catch (NumberFormatException e) {
+                // ignore a malformed directive
+            }
+        }
+        if (sharedMaxAge >= 0) {
+            return sharedMaxAge;
+        }
+        return maxAge >= 0 ? maxAge : routeTtl;
+    }
+
+    /**
+     * Buffers a cacheable 200 body, stores it and hands it to the waiting requests, then writes
+     * it through unchanged. Anything else, including bodies larger than a cache entry may be, is
+     * passed straight to the client.
+     */
+    private class StoringResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Set<String> tags;
+        private final long generation;
+        private final long routeTtl;
+        private final CompletableFuture<CachedResponse> leader;
+
+        StoringResponse(ServerHttpResponse delegate, String key, Set<String> tags, long generation, long routeTtl,
+                        CompletableFuture<CachedResponse> leader) {
+            super(delegate);
+            this.key = key;
+            this.tags = tags;
+            this.generation = generation;
+            this.routeTtl = routeTtl;
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            // every Cache-Control header counts: a no-store or private in a later one still forbids storing
+            long ttl = ttlSeconds(String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)), routeTtl);
+            if (status == null || status.value() != HttpStatus.OK.value() || ttl <= 0
+                    || headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getContentLength() > maxEntryBytes) {
+                return super.writeWith(body);
+            }
+            // hold buffers back only until the body outgrows an entry; past that it streams through uncached
+            AtomicLong size = new AtomicLong();
+            return Flux.from(body)
+                    .<DataBuffer>map(buffer -> buffer)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxEntryBytes)
+                    .switchOnFirst((first, chunks) -> {
+                        Flux<DataBuffer> buffers = chunks.concatMapIterable(chunk -> chunk);
+                        if (size.get() > maxEntryBytes) {
+                            return super.writeWith(buffers);
+                        }
+                        return store(buffers, ttl);
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        private Mono<Void> store(Flux<DataBuffer> buffers, long ttl) {
+            HttpHeaders headers = getHeaders();
+            return DataBufferUtils.join(buffers)
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        if (headers.getETag() == null) {
+                            headers.setETag("W/\"" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+                        }
+                        HttpHeaders stored = new HttpHeaders();
+                        headers.forEach((name, values) -> {
+                            if (STORED_HEADERS.stream().anyMatch(name::equalsIgnoreCase)) {
+                                stored.put(name, values);
+                            }
+                        });
+                        long now = System.currentTimeMillis();
+                        CachedResponse cached = new CachedResponse(stored, bytes, headers.getETag(), tags, now, now + ttl * 1000);
+                        // invalidated while in flight: serve it to this client only
+                        if (responseCache.put(key, cached, generation)) {
+                            leader.complete(cached);
+                        }
+                        headers.set(CACHE_STATUS_HEADER, "MISS");
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+}
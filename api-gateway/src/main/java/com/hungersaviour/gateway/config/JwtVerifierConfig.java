@@ -0,0 +1,42 @@
+package com.hungersaviour.gateway.config;
+
+import com.hungersaviour.security.jwt.JwksKeySource;
+import com.hungersaviour.security.jwt.JwtVerifier;
+import com.hungersaviour.security.jwt.RevocationFeed;
+import com.hungersaviour.security.jwt.RevocationList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class JwtVerifierConfig {
+
+    @Bean
+    public JwksKeySource jwksKeySource(@Value("${jwt.jwks-url}") String jwksUrl,
+                                       @Value("${jwt.jwks-refresh-minutes:10}") long refreshMinutes) {
+        JwksKeySource keySource = new JwksKeySource(jwksUrl, Duration.ofMinutes(refreshMinutes), Duration.ofSeconds(10));
+        // fetch off the request path; an unreachable user-service is retried in the background
+        keySource.refresh();
+        return keySource;
+    }
+
+    @Bean
+    public RevocationList revocationList(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                         @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new RevocationList(expectedEntries, falsePositiveRate);
+    }
+
+    @Bean
+    public RevocationFeed revocationFeed(@Value("${jwt.revocations-url}") String revocationsUrl,
+                                         RevocationList revocationList) {
+        return new RevocationFeed(revocationsUrl, revocationList);
+    }
+
+    @Bean
+    public JwtVerifier jwtVerifier(JwksKeySource jwksKeySource, RevocationList revocationList,
+                                   @Value("${jwt.verification-cache.max-entries:50000}") int maxCachedTokens) {
+        return new JwtVerifier(jwksKeySource, maxCachedTokens, revocationList);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hungersaviour.gateway.config;
+
+import com.hungersaviour.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+// every lb:// route and load-balanced WebClient uses the latency-aware balancer instead of round robin
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
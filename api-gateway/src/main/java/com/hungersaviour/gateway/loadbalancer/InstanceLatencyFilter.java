@@ -0,0 +1,44 @@
+package com.hungersaviour.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ends the measurement of a routed request when its response headers are sent, not when the
+ * body has finished streaming. Otherwise slow clients and long-lived SSE streams would count
+ * as minutes of latency and as permanently in-flight requests against the instance.
+ */
+@Component
+public class InstanceLatencyFilter implements GlobalFilter, Ordered {
+
+    @Autowired
+    private InstanceStats instanceStats;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR) instanceof TrackedResponse tracked) {
+            exchange.getResponse().beforeCommit(() -> {
+                if (tracked.finish()) {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    instanceStats.completed(tracked.getServer(), tracked.elapsedNanos(),
+                            status != null && status.is5xxServerError());
+                }
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
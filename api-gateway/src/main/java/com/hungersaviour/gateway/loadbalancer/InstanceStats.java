@@ -0,0 +1,139 @@
+package com.hungersaviour.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-instance load and health, shared by all load-balanced clients in the gateway. Latency is
+ * a peak EWMA: a slower sample is taken at once, faster ones decay in over
+ * {@code gateway.lb.decay-ms}, so an instance that starts stalling loses traffic immediately
+ * and wins it back gradually. Consecutive failures eject an instance for a period that grows
+ * with each ejection.
+ */
+@Component
+@Slf4j
+public class InstanceStats {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.lb.initial-latency-ms:50}")
+    private double initialLatencyMillis;
+
+    @Value("${gateway.lb.decay-ms:10000}")
+    private double decayMillis;
+
+    @Value("${gateway.lb.ejection.consecutive-failures:5}")
+    private int ejectionThreshold;
+
+    @Value("${gateway.lb.ejection.base-ms:10000}")
+    private long baseEjectionMillis;
+
+    @Value("${gateway.lb.ejection.max-ms:120000}")
+    private long maxEjectionMillis;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Expected cost of sending one more request: latency times the requests it would queue
+     * behind. Latency drifts back to the initial estimate while an instance gets no traffic, so
+     * one slow sample does not keep it out of power-of-two choices for good.
+     */
+    double cost(ServiceInstance instance, long nowMillis) {
+        Stats current = stats.get(key(instance));
+        if (current == null) {
+            return initialLatencyMillis;
+        }
+        double weight = Math.exp(-Math.max(0, nowMillis - current.updatedAtMillis) / decayMillis);
+        double latency = initialLatencyMillis + (current.latencyMillis - initialLatencyMillis) * weight;
+        return latency * (current.inFlight + 1);
+    }
+
+    boolean isEjected(ServiceInstance instance, long nowMillis) {
+        Stats current = stats.get(key(instance));
+        return current != null && current.ejectedUntilMillis > nowMillis;
+    }
+
+    void started(ServiceInstance instance) {
+        Stats current = stats(instance);
+        synchronized (current) {
+            current.inFlight++;
+        }
+    }
+
+    // a request that never reached the instance
+    void abandoned(ServiceInstance instance) {
+        Stats current = stats(instance);
+        synchronized (current) {
+            current.inFlight = Math.max(0, current.inFlight - 1);
+        }
+    }
+
+    void completed(ServiceInstance instance, long latencyNanos, boolean failed) {
+        Stats current = stats(instance);
+        long now = System.currentTimeMillis();
+        boolean ejected = false;
+        synchronized (current) {
+            current.inFlight = Math.max(0, current.inFlight - 1);
+            double sample = TimeUnit.NANOSECONDS.toMicros(latencyNanos) / 1000.0;
+            if (sample > current.latencyMillis) {
+                current.latencyMillis = sample;
+            } else {
+                double weight = Math.exp(-Math.max(0, now - current.updatedAtMillis) / decayMillis);
+                current.latencyMillis = current.latencyMillis * weight + sample * (1 - weight);
+            }
+            current.updatedAtMillis = now;
+
+            if (!failed) {
+                current.consecutiveFailures = 0;
+                current.ejections = Math.max(0, current.ejections - 1);
+            } else if (++current.consecutiveFailures >= ejectionThreshold && current.ejectedUntilMillis <= now) {
+                current.ejections++;
+                current.ejectedUntilMillis = now + Math.min(maxEjectionMillis, baseEjectionMillis * current.ejections);
+                current.consecutiveFailures = 0;
+                ejected = true;
+            }
+        }
+        if (ejected) {
+            log.warn("Ejected {} after {} consecutive failures", key(instance), ejectionThreshold);
+            meterRegistry.counter("gateway.lb.ejections", "service", instance.getServiceId()).increment();
+        }
+    }
+
+    // instances that left the registry stop reporting
+    @Scheduled(fixedDelayString = "${gateway.lb.purge-ms:600000}")
+    public void purge() {
+        long cutoff = System.currentTimeMillis() - 600_000;
+        stats.values().removeIf(s -> s.inFlight == 0 && s.updatedAtMillis < cutoff && s.ejectedUntilMillis < cutoff);
+    }
+
+    private Stats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), k -> new Stats(initialLatencyMillis));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class Stats {
+        private volatile double latencyMillis;
+        private volatile int inFlight;
+        private volatile long updatedAtMillis = System.currentTimeMillis();
+        private int consecutiveFailures;
+        private int ejections;
+        private volatile long ejectedUntilMillis;
+
+        Stats(double latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+    }
+}
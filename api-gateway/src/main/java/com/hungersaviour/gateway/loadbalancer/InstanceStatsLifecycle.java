@@ -0,0 +1,54 @@
+package com.hungersaviour.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.*;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds {@link InstanceStats} from every load-balanced call, both gateway routes and the
+ * {@code @LoadBalanced} WebClient. Connection errors and 5xx responses count as failures.
+ * Only instances chosen by {@link LatencyAwareLoadBalancer} are tracked.
+ */
+@Component
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    @Autowired
+    private InstanceStats instanceStats;
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse instanceof TrackedResponse tracked) {
+            tracked.start();
+            instanceStats.started(tracked.getServer());
+        }
+    }
+
+    // Gateway routes are usually finished at response headers by InstanceLatencyFilter; this
+    // covers connection failures and the load-balanced WebClient
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        if (!(completionContext.getLoadBalancerResponse() instanceof TrackedResponse tracked) || !tracked.finish()) {
+            return;
+        }
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            instanceStats.abandoned(tracked.getServer());
+            return;
+        }
+        ResponseData response = completionContext.getClientResponse();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError());
+        instanceStats.completed(tracked.getServer(), tracked.elapsedNanos(), failed);
+    }
+}
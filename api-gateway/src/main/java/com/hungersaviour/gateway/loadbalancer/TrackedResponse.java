@@ -0,0 +1,37 @@
+package com.hungersaviour.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A chosen instance plus the state of the one request sent to it, so the request is counted
+ * exactly once however it ends: at response headers for gateway routes, or on completion.
+ */
+class TrackedResponse extends DefaultResponse {
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile long startedAtNanos;
+
+    TrackedResponse(ServiceInstance serviceInstance) {
+        super(serviceInstance);
+    }
+
+    void start() {
+        startedAtNanos = System.nanoTime();
+    }
+
+    boolean isStarted() {
+        return startedAtNanos != 0;
+    }
+
+    // true for the first caller only
+    boolean finish() {
+        return isStarted() && finished.compareAndSet(false, true);
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAtNanos;
+    }
+}
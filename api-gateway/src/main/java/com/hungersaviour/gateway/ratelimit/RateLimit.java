@@ -0,0 +1,8 @@
+package com.hungersaviour.gateway.ratelimit;
+
+/**
+ * Token bucket limit: {@code replenishRate} tokens per second, at most {@code burstCapacity}
+ * saved up.
+ */
+public record RateLimit(double replenishRate, int burstCapacity) {
+}
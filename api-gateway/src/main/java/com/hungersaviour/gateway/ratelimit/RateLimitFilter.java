@@ -0,0 +1,145 @@
+package com.hungersaviour.gateway.ratelimit;
+
+import com.hungersaviour.gateway.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies token bucket limits per route, per user and per client IP before a request is
+ * forwarded. Limits come from {@code gateway.rate-limit.routes.<route-id>.<route|user|ip>.*}
+ * with {@code gateway.rate-limit.default.<route|user|ip>.*} as fallback; a dimension without a
+ * configured rate is not limited. Rejected requests get a 429 with Retry-After.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    enum Dimension { ROUTE, USER, IP }
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private final Map<String, Map<Dimension, RateLimit>> policies = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        Map<Dimension, RateLimit> policy = policies.computeIfAbsent(routeId, this::loadPolicy);
+        if (policy.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        List<Check> checks = new ArrayList<>();
+        ServerHttpRequest request = exchange.getRequest();
+        policy.forEach((dimension, limit) -> {
+            String subject = switch (dimension) {
+                case ROUTE -> "all";
+                // set from the verified token by JwtAuthenticationFilter, which runs first
+                case USER -> request.getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+                case IP -> clientIp(request);
+            };
+            if (subject != null) {
+                checks.add(new Check(dimension, routeId + ":" + dimension.name().toLowerCase(Locale.ROOT) + ":" + subject, limit));
+            }
+        });
+
+        // stops at the first bucket that is empty
+        return Flux.fromIterable(checks)
+                .concatMap(check -> rateLimiter.acquire(check.key, check.limit).map(retryAfter -> new Decision(check, retryAfter)))
+                .filter(decision -> decision.retryAfterMillis > 0)
+                .next()
+                .flatMap(decision -> reject(exchange, routeId, decision))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    @Override
+    public int getOrder() {
+        // after JwtAuthenticationFilter has established the user
+        return Ordered.HIGHEST_PRECEDENCE + 200;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, Decision decision) {
+        meterRegistry.counter("gateway.ratelimit.rejected",
+                "route", routeId, "dimension", decision.check.dimension.name().toLowerCase(Locale.ROOT)).increment();
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, (decision.retryAfterMillis + 999) / 1000)));
+        return exchange.getResponse().setComplete();
+    }
+
+    private Map<Dimension, RateLimit> loadPolicy(String routeId) {
+        Map<Dimension, RateLimit> policy = new ConcurrentHashMap<>();
+        for (Dimension dimension : Dimension.values()) {
+            String name = dimension.name().toLowerCase(Locale.ROOT);
+            String routePrefix = "gateway.rate-limit.routes." + routeId + "." + name + ".";
+            String defaultPrefix = "gateway.rate-limit.default." + name + ".";
+            Double rate = property(routePrefix, defaultPrefix, "replenish-rate", Double.class);
+            if (rate == null || rate <= 0) {
+                continue;
+            }
+            Integer burst = property(routePrefix, defaultPrefix, "burst-capacity", Integer.class);
+            policy.put(dimension, new RateLimit(rate, burst == null ? (int) Math.ceil(rate) : Math.max(1, burst)));
+        }
+        return policy;
+    }
+
+    private <T> T property(String routePrefix, String defaultPrefix, String name, Class<T> type) {
+        T value = environment.getProperty(routePrefix + name, type);
+        return value != null ? value : environment.getProperty(defaultPrefix + name, type);
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                // the trusted proxy appends the address it saw; anything left of it is client-supplied
+                String[] hops = forwardedFor.split(",");
+                return hops[hops.length - 1].trim();
+            }
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress == null ? null : remoteAddress.getAddress().getHostAddress();
+    }
+
+    private record Check(Dimension dimension, String key, RateLimit limit) {
+    }
+
+    private record Decision(Check check, long retryAfterMillis) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.hungersaviour.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets shared by all gateway instances through Redis. To keep Redis off the hot path,
+ * an instance takes a small lease of tokens at a time (about 100 ms worth of the rate) and
+ * serves requests from it locally until it runs out or expires. If Redis fails or is slow, each
+ * instance enforces the limit on its own with a local bucket.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Refills the bucket from Redis' clock and grants up to ARGV[3] tokens. Returns the number
+    // granted, or -(milliseconds until the next token) when the bucket is empty.
+    private static final RedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>(
+            "local rate = tonumber(ARGV[1]) " +
+            "local capacity = tonumber(ARGV[2]) " +
+            "local requested = tonumber(ARGV[3]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) " +
+            "local ts = tonumber(bucket[2]) " +
+            "if tokens == nil then tokens = capacity ts = now end " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000) " +
+            "local granted = math.min(requested, math.floor(tokens)) " +
+            "tokens = tokens - granted " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000) " +
+            "if granted > 0 then return granted end " +
+            "return -math.max(1, math.ceil((1 - tokens) * 1000 / rate))",
+            Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> fallbackBuckets = new ConcurrentHashMap<>();
+    private final Counter redisFallbacks;
+
+    @Value("${gateway.rate-limit.lease-ms:250}")
+    private long leaseMillis;
+
+    @Value("${gateway.rate-limit.redis-timeout-ms:50}")
+    private long redisTimeoutMillis;
+
+    public RateLimiter(ReactiveStringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.redisFallbacks = Counter.builder("gateway.ratelimit.redis.fallbacks")
+                .description("Rate limit decisions made locally because Redis was unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the bucket identified by {@code key}.
+     *
+     * @return 0 if the request may proceed, otherwise the milliseconds until it may be retried
+     */
+    public Mono<Long> acquire(String key, RateLimit limit) {
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        if (lease.tryTake()) {
+            return Mono.just(0L);
+        }
+        int leaseSize = (int) Math.max(1, Math.min(limit.burstCapacity(), Math.floor(limit.replenishRate() / 10)));
+        return redisTemplate.execute(LEASE_SCRIPT, List.of(KEY_PREFIX + key),
+                        List.of(String.valueOf(limit.replenishRate()), String.valueOf(limit.burstCapacity()),
+                                String.valueOf(leaseSize)))
+                .next()
+                .timeout(Duration.ofMillis(redisTimeoutMillis))
+                .map(result -> {
+                    if (result > 0) {
+                        // one token for this request, the rest serve the next ones locally
+                        lease.grant(result - 1, System.currentTimeMillis() + leaseMillis);
+                        return 0L;
+                    }
+                    return -result;
+                })
+                .onErrorResume(e -> {
+                    redisFallbacks.increment();
+                    log.debug("Rate limit lease for {} failed, limiting locally: {}", key, e.getMessage());
+                    return Mono.just(fallbackBuckets.computeIfAbsent(key, k -> new TokenBucket(limit)).tryAcquire());
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.purge-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        leases.values().removeIf(lease -> lease.isExpired(now));
+        fallbackBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    // Tokens already taken from the shared bucket; unused ones are dropped when the lease expires
+    private static class Lease {
+        private int tokens;
+        private long expiresAt;
+
+        synchronized boolean tryTake() {
+            if (tokens > 0 && System.currentTimeMillis() < expiresAt) {
+                tokens--;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void grant(long granted, long expiresAt) {
+            this.tokens = (int) granted;
+            this.expiresAt = expiresAt;
+        }
+
+        synchronized boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
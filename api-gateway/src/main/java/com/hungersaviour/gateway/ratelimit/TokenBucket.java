@@ -0,0 +1,38 @@
+package com.hungersaviour.gateway.ratelimit;
+
+/**
+ * Local token bucket. Used as-is while Redis is unreachable, when every instance falls back to
+ * enforcing the limit on its own.
+ */
+class TokenBucket {
+
+    private final double replenishPerMilli;
+    private final int capacity;
+    private double tokens;
+    private long updatedAt;
+
+    TokenBucket(RateLimit limit) {
+        this.replenishPerMilli = limit.replenishRate() / 1000.0;
+        this.capacity = limit.burstCapacity();
+        this.tokens = capacity;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the milliseconds until one is available
+     */
+    synchronized long tryAcquire() {
+        long now = System.currentTimeMillis();
+        tokens = Math.min(capacity, tokens + (now - updatedAt) * replenishPerMilli);
+        updatedAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / replenishPerMilli);
+    }
+
+    synchronized boolean isIdle(long now) {
+        return now - updatedAt > capacity / replenishPerMilli;
+    }
+}
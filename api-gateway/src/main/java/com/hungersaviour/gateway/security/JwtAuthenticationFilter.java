@@ -0,0 +1,106 @@
+package com.hungersaviour.gateway.security;
+
+import com.hungersaviour.security.jwt.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Verifies the bearer token once at the edge and forwards the caller's identity as
+ * X-User-Id / X-User-Email / X-User-Role headers instead of the token, plus X-Token-Id so
+ * user-service can revoke the token on logout. Identity headers sent
+ * by clients are always dropped. Requests to protected paths without a valid token get a 401;
+ * elsewhere an invalid token just makes the request anonymous.
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String TOKEN_ID_HEADER = "X-Token-Id";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    private final List<PathPattern> protectedPaths;
+
+    public JwtAuthenticationFilter(
+            @Value("${gateway.auth.protected-paths:/api/orders/**,/api/payments/**,/api/users/**}") List<String> paths) {
+        PathPatternParser parser = new PathPatternParser();
+        this.protectedPaths = paths.stream().map(String::trim).map(parser::parse).toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Claims claims = null;
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            try {
+                claims = jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+            } catch (Exception e) {
+                log.debug("Rejected token for {}: {}", request.getPath(), e.getMessage());
+            }
+        }
+
+        if (claims == null && isProtected(request)) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            return exchange.getResponse().setComplete();
+        }
+
+        Claims identity = claims;
+        ServerHttpRequest forwarded = request.mutate().headers(headers -> {
+            headers.remove(USER_ID_HEADER);
+            headers.remove(USER_EMAIL_HEADER);
+            headers.remove(USER_ROLE_HEADER);
+            headers.remove(TOKEN_ID_HEADER);
+            headers.remove(HttpHeaders.AUTHORIZATION);
+            if (identity != null) {
+                Object userId = identity.get("uid");
+                if (userId != null) {
+                    headers.set(USER_ID_HEADER, userId.toString());
+                }
+                headers.set(USER_EMAIL_HEADER, identity.getSubject());
+                Object role = identity.get("role");
+                if (role != null) {
+                    headers.set(USER_ROLE_HEADER, role.toString());
+                }
+                if (identity.getId() != null) {
+                    headers.set(TOKEN_ID_HEADER, identity.getId());
+                }
+            }
+        }).build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // before routing and load balancing
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    private boolean isProtected(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        return protectedPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+}
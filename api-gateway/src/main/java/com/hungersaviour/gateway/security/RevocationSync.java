@@ -0,0 +1,31 @@
+package com.hungersaviour.gateway.security;
+
+import com.hungersaviour.security.jwt.RevocationFeed;
+import com.hungersaviour.security.jwt.RevocationList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the gateway's revocation list in step with user-service. Polling runs on the scheduler
+ * thread, so the blocking feed request never touches the event loop.
+ */
+@Component
+public class RevocationSync {
+
+    @Autowired
+    private RevocationFeed revocationFeed;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:2000}")
+    public void poll() {
+        revocationFeed.poll();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-ms:60000}")
+    public void prune() {
+        revocationList.prune();
+    }
+}
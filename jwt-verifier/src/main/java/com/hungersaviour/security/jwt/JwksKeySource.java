@@ -0,0 +1,122 @@
+package com.hungersaviour.security.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Public keys fetched from a JWKS endpoint and kept in memory. Keys are refetched when they are
+ * older than {@code refreshInterval}, and as soon as a token names an unknown {@code kid} (a
+ * freshly rotated key), but never more often than {@code minRefetchInterval}, so tokens with
+ * made-up key ids cannot turn into a request per token.
+ * <p>
+ * {@link #getKey} never waits for the network: it may run on an event loop. A token with an
+ * unknown kid is rejected straight away while the key set is refetched on a background thread,
+ * so tokens signed with a just-rotated key succeed once that fetch lands.
+ */
+public class JwksKeySource implements PublicKeyProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private final URI jwksUri;
+    private final Duration refreshInterval;
+    private final Duration minRefetchInterval;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService fetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jwks-fetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long fetchedAtMillis;
+    private volatile long lastAttemptMillis;
+
+    public JwksKeySource(String jwksUrl, Duration refreshInterval, Duration minRefetchInterval) {
+        this.jwksUri = URI.create(jwksUrl);
+        this.refreshInterval = refreshInterval;
+        this.minRefetchInterval = minRefetchInterval;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(3)).build();
+    }
+
+    @Override
+    public PublicKey getKey(String keyId) {
+        long now = System.currentTimeMillis();
+        PublicKey key = keyId == null ? null : keys.get(keyId);
+        boolean mayFetch = now - lastAttemptMillis > minRefetchInterval.toMillis();
+        if (mayFetch && (key == null || now - fetchedAtMillis > refreshInterval.toMillis())) {
+            refreshAsync();
+        }
+        return key;
+    }
+
+    /**
+     * Schedules a fetch on the background thread; callers do not wait for it.
+     */
+    public void refreshAsync() {
+        try {
+            fetcher.execute(this::refresh);
+        } catch (RejectedExecutionException e) {
+            log.debug("JWKS fetcher is shut down");
+        }
+    }
+
+    /**
+     * Fetches the key set now, blocking the caller; failures keep the keys already known.
+     */
+    public synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - lastAttemptMillis <= minRefetchInterval.toMillis()) {
+            return; // another thread just tried
+        }
+        lastAttemptMillis = now;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS fetch from {} returned {}", jwksUri, response.statusCode());
+                return;
+            }
+            keys = parse(response.body());
+            fetchedAtMillis = now;
+            log.debug("Loaded {} signing keys from {}", keys.size(), jwksUri);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("JWKS fetch from {} failed: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    private Map<String, PublicKey> parse(String body) throws Exception {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        KeyFactory rsa = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+            parsed.put(jwk.path("kid").asText(), rsa.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -0,0 +1,107 @@
+package com.hungersaviour.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies RS256 tokens locally against keys from a {@link PublicKeyProvider}, selected by the
+ * token's {@code kid}. Verified claims are cached by token digest until the token expires, so a
+ * client reusing its token costs one hash lookup per request. Revocation is checked on every
+ * call, cached or not.
+ */
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final int maxCachedTokens;
+    private final RevocationList revocationList;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    public JwtVerifier(PublicKeyProvider keyProvider, int maxCachedTokens) {
+        this(keyProvider, maxCachedTokens, null);
+    }
+
+    public JwtVerifier(PublicKeyProvider keyProvider, int maxCachedTokens, RevocationList revocationList) {
+        this.maxCachedTokens = maxCachedTokens;
+        this.revocationList = revocationList;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyProvider.getKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with, expired,
+     *                                      signed with an unknown key or revoked
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis > now) {
+                return checkRevocation(cached.claims);
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+
+        Claims claims = checkRevocation(parser.parseClaimsJws(token).getBody());
+        if (claims.getExpiration() != null) {
+            if (verifiedTokens.size() >= maxCachedTokens) {
+                evict(now);
+            }
+            verifiedTokens.put(digest, new VerifiedToken(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    private Claims checkRevocation(Claims claims) {
+        if (revocationList != null && revocationList.isRevoked(claims.getId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    private void evict(long now) {
+        verifiedTokens.values().removeIf(token -> token.expiresAtMillis <= now);
+        // still full of live tokens: drop an arbitrary slice rather than growing without bound
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= maxCachedTokens && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+}
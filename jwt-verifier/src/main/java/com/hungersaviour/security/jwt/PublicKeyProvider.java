@@ -0,0 +1,14 @@
+package com.hungersaviour.security.jwt;
+
+import java.security.PublicKey;
+
+/**
+ * Looks up the public key for a JWT's {@code kid} header.
+ */
+public interface PublicKeyProvider {
+
+    /**
+     * @return the key, or {@code null} if no key with this id is known
+     */
+    PublicKey getKey(String keyId);
+}
@@ -0,0 +1,66 @@
+package com.hungersaviour.security.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Pulls new revocations from user-service's feed into a {@link RevocationList}. The feed is
+ * cursor-based, so each poll transfers revocations made since the previous one, plus a short
+ * overlap of recent ones that may have committed behind the cursor.
+ */
+public class RevocationFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationFeed.class);
+
+    private final String feedUrl;
+    private final RevocationList revocationList;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private long cursor;
+
+    public RevocationFeed(String feedUrl, RevocationList revocationList) {
+        this.feedUrl = feedUrl;
+        this.revocationList = revocationList;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(3)).build();
+    }
+
+    public synchronized void poll() {
+        try {
+            // the feed is paged; keep reading until the cursor stops advancing
+            while (fetchPage()) {
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Revocation feed {} failed: {}", feedUrl, e.getMessage());
+        }
+    }
+
+    private boolean fetchPage() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(feedUrl + "?since=" + cursor))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            log.warn("Revocation feed {} returned {}", feedUrl, response.statusCode());
+            return false;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        JsonNode revocations = body.path("revocations");
+        for (JsonNode revocation : revocations) {
+            revocationList.revoke(revocation.path("jti").asText(), revocation.path("expiresAt").asLong());
+        }
+        long previous = cursor;
+        cursor = body.path("cursor").asLong(cursor);
+        return cursor > previous;
+    }
+}
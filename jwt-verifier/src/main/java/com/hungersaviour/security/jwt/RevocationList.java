@@ -0,0 +1,54 @@
+package com.hungersaviour.security.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids ({@code jti}) until the tokens would have expired anyway. Lookups go
+ * through a bloom filter first, so the usual "not revoked" answer never touches the map; only
+ * filter hits are confirmed against the exact entries. {@link #prune()} drops expired entries
+ * and rebuilds the filter, which keeps both small because access tokens are short-lived.
+ */
+public class RevocationList {
+
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> token expiry millis
+    private volatile BloomFilter filter;
+
+    public RevocationList(int expectedRevocations, double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(tokenId, expiresAtMillis);
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public synchronized void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // ids revoked while rebuilding
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
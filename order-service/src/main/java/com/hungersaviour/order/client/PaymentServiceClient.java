@@ -17,12 +17,10 @@ public class PaymentServiceClient {
 
     private final WebClient webClient;
 
-    @Value("${services.payment.url:http://payment-service:8084}")
-    private String paymentServiceUrl;
-
     @Autowired
-    public PaymentServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    public PaymentServiceClient(WebClient.Builder webClientBuilder,
+                                @Value("${services.payment.url:http://payment-service:8084}") String paymentServiceUrl) {
+        this.webClient = webClientBuilder.clone().baseUrl(paymentServiceUrl).build();
     }
 
     public PaymentResponse processPayment(PaymentRequest request) {
@@ -30,7 +28,7 @@ public class PaymentServiceClient {
             log.info("Calling payment service to process payment for order: {}", request.getOrderId());
             
             return webClient.post()
-                    .uri(paymentServiceUrl + "/api/payments")
+                    .uri("/api/payments")
                     .body(Mono.just(request), PaymentRequest.class)
                     .retrieve()
                     .bodyToMono(PaymentResponse.class)
@@ -1,13 +1,17 @@
 package com.hungersaviour.order.client;
 
 import com.hungersaviour.order.dto.RestaurantResponse;
+import com.hungersaviour.order.dto.StockReservationRequest;
+import com.hungersaviour.order.exception.InvalidRequestException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -15,12 +19,10 @@ public class RestaurantServiceClient {
 
     private final WebClient webClient;
 
-    @Value("${services.restaurant.url:http://restaurant-service:8082}")
-    private String restaurantServiceUrl;
-
     @Autowired
-    public RestaurantServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    public RestaurantServiceClient(WebClient.Builder webClientBuilder,
+                                   @Value("${services.restaurant.url:http://restaurant-service:8082}") String restaurantServiceUrl) {
+        this.webClient = webClientBuilder.clone().baseUrl(restaurantServiceUrl).build();
     }
 
     public RestaurantResponse getRestaurantById(Long restaurantId) {
@@ -28,7 +30,7 @@ public class RestaurantServiceClient {
             log.info("Fetching restaurant details for ID: {}", restaurantId);
             
             return webClient.get()
-                    .uri(restaurantServiceUrl + "/api/restaurants/" + restaurantId)
+                    .uri("/api/restaurants/{restaurantId}", restaurantId)
                     .retrieve()
                     .bodyToMono(RestaurantResponse.class)
                     .timeout(Duration.ofSeconds(10))
@@ -38,4 +40,42 @@ public class RestaurantServiceClient {
             throw new RuntimeException("Restaurant service unavailable: " + e.getMessage());
         }
     }
+
+    /**
+     * Reserves today's stock for the order's limited items. Running out is a client error;
+     * any other failure also throws, so the order is rolled back rather than placed unreserved.
+     */
+    public void reserveStock(Long restaurantId, StockReservationRequest request) {
+        try {
+            webClient.post()
+                    .uri("/internal/restaurants/{restaurantId}/stock/reservations", restaurantId)
+                    .bodyValue(request)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofSeconds(5))
+                    .block();
+        } catch (WebClientResponseException.Conflict e) {
+            Map<?, ?> error = e.getResponseBodyAs(Map.class);
+            Object message = error != null ? error.get("message") : null;
+            throw new InvalidRequestException(message != null ? message.toString() : "Not enough stock for this order");
+        } catch (Exception e) {
+            log.error("Stock reservation failed for order {}: {}", request.getOrderId(), e.getMessage());
+            // a timed-out call may still have reserved; releasing is idempotent
+            releaseStock(restaurantId, request.getOrderId());
+            throw new RuntimeException("Restaurant service unavailable: " + e.getMessage());
+        }
+    }
+
+    public void releaseStock(Long restaurantId, Long orderId) {
+        try {
+            webClient.delete()
+                    .uri("/internal/restaurants/{restaurantId}/stock/reservations/{orderId}", restaurantId, orderId)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofSeconds(5))
+                    .block();
+        } catch (Exception e) {
+            log.error("Failed to release stock for order {}: {}", orderId, e.getMessage());
+        }
+    }
 }
@@ -15,12 +15,10 @@ public class UserServiceClient {
 
     private final WebClient webClient;
 
-    @Value("${services.user.url:http://user-service:8081}")
-    private String userServiceUrl;
-
     @Autowired
-    public UserServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${services.user.url:http://user-service:8081}") String userServiceUrl) {
+        this.webClient = webClientBuilder.clone().baseUrl(userServiceUrl).build();
     }
 
     public UserResponse getUserById(Long userId) {
@@ -28,7 +26,7 @@ public class UserServiceClient {
             log.info("Fetching user details for ID: {}", userId);
             
             return webClient.get()
-                    .uri(userServiceUrl + "/api/users/" + userId)
+                    .uri("/api/users/{userId}", userId)
                     .retrieve()
                     .bodyToMono(UserResponse.class)
                     .timeout(Duration.ofSeconds(10))
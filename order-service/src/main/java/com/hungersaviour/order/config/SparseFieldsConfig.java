@@ -0,0 +1,20 @@
+package com.hungersaviour.order.config;
+
+import com.hungersaviour.order.model.Order;
+import com.hungersaviour.web.fields.SparseFields;
+import com.hungersaviour.web.fields.SparseFieldsAdvice;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// ?fields= sparse fieldsets for order responses
+@Configuration
+@Import(SparseFieldsAdvice.class)
+public class SparseFieldsConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return SparseFields.customizer(Order.class);
+    }
+}
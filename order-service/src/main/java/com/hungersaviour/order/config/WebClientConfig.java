@@ -1,14 +1,49 @@
 package com.hungersaviour.order.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
+@Slf4j
 public class WebClientConfig {
 
+    /**
+     * Transport for calls to payment, restaurant and user services. {@code http1} is a pool of
+     * HTTP/1.1 connections, one request at a time each. {@code h2c} speaks cleartext HTTP/2 with
+     * prior knowledge: a few long-lived connections per service, each multiplexing many concurrent
+     * requests with compressed headers. The target services must have server.http2.enabled set.
+     */
+    @Value("${services.transport:http1}")
+    private String transport;
+
+    @Value("${services.transport.max-connections:4}")
+    private int maxConnections;
+
+    @Value("${services.transport.max-idle-seconds:300}")
+    private long maxIdleSeconds;
+
     @Bean
     public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+        if (!"h2c".equalsIgnoreCase(transport)) {
+            return WebClient.builder();
+        }
+        ConnectionProvider connections = ConnectionProvider.builder("internal-h2c")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .pendingAcquireTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .protocol(HttpProtocol.H2C);
+        log.info("Internal service calls use h2c with up to {} connections per service", maxConnections);
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
     }
 }
@@ -1,9 +1,11 @@
 package com.hungersaviour.order.controller;
 
+import com.hungersaviour.order.dto.CallerIdentity;
 import com.hungersaviour.order.dto.CreateOrderRequest;
 import com.hungersaviour.order.model.Order;
 import com.hungersaviour.order.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,9 +20,16 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Value("${security.gateway-headers.trusted:false}")
+    private boolean trustGatewayHeaders;
+
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody CreateOrderRequest request) {
-        return ResponseEntity.ok(orderService.createOrder(request));
+    public ResponseEntity<Order> createOrder(@RequestBody CreateOrderRequest request,
+                                             @RequestHeader(value = CallerIdentity.USER_ID_HEADER, required = false) Long userId,
+                                             @RequestHeader(value = CallerIdentity.USER_EMAIL_HEADER, required = false) String email) {
+        // identity headers only count when the gateway is the only way in
+        CallerIdentity caller = trustGatewayHeaders && userId != null ? new CallerIdentity(userId, email) : null;
+        return ResponseEntity.ok(orderService.createOrder(request, caller));
     }
 
     @GetMapping("/{id}")
@@ -29,7 +38,12 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<Order>> getOrdersByUser(@PathVariable Long userId,
+                                                       @RequestParam(required = false) Integer limit) {
+        // with a limit: the most recent orders first
+        if (limit != null) {
+            return ResponseEntity.ok(orderService.getRecentOrdersByUser(userId, Math.max(1, Math.min(limit, 100))));
+        }
         return ResponseEntity.ok(orderService.getOrdersByUser(userId));
     }
 
@@ -0,0 +1,20 @@
+package com.hungersaviour.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The authenticated caller, as verified by the API gateway and forwarded in X-User-* headers.
+ * Only taken from the headers when security.gateway-headers.trusted is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CallerIdentity {
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+
+    private Long userId;
+    private String email;
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -19,4 +20,14 @@ public class OrderStatusEvent implements Serializable {
     private String status;
     private Double totalAmount;
     private String deliveryAddress;
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item implements Serializable {
+        private Long menuItemId;
+        private String menuItemName;
+        private Integer quantity;
+    }
 }
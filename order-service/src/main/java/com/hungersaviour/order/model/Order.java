@@ -23,6 +23,8 @@ public class Order {
     @Column(nullable = false)
     private Long userId;
 
+    private String userEmail; // from the caller's verified token, used for notifications
+
     @Column(nullable = false)
     private Long restaurantId;
 
@@ -1,6 +1,7 @@
 package com.hungersaviour.order.repository;
 
 import com.hungersaviour.order.model.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
+    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     List<Order> findByRestaurantId(Long restaurantId);
     List<Order> findByStatus(String status);
 }
@@ -12,6 +12,7 @@ import com.hungersaviour.order.repository.OrderRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,15 +43,21 @@ public class OrderService {
     private static final String ORDER_ROUTING_KEY = "order.status";
 
     @Transactional
-    public Order createOrder(CreateOrderRequest request) {
-        log.info("Creating order for user: {}, restaurant: {}", request.getUserId(), request.getRestaurantId());
-        
-        // Step 1: Fetch user details
-        UserResponse user = userServiceClient.getUserById(request.getUserId());
-        if (user == null) {
-            throw new ResourceNotFoundException("User not found: " + request.getUserId());
+    public Order createOrder(CreateOrderRequest request, CallerIdentity caller) {
+        String userEmail;
+        if (caller != null && caller.getUserId() != null) {
+            // Step 1: The gateway has verified the caller; orders are always placed as the token's user
+            request.setUserId(caller.getUserId());
+            userEmail = caller.getEmail();
+        } else {
+            // Step 1: Direct call without a verified identity, look the user up
+            UserResponse user = userServiceClient.getUserById(request.getUserId());
+            if (user == null) {
+                throw new ResourceNotFoundException("User not found: " + request.getUserId());
+            }
+            userEmail = user.getEmail();
         }
-        log.info("User found: {}", user.getEmail());
+        log.info("Creating order for user: {}, restaurant: {}", request.getUserId(), request.getRestaurantId());
         
         // Step 2: Fetch restaurant details
         RestaurantResponse restaurant = restaurantServiceClient.getRestaurantById(request.getRestaurantId());
@@ -62,6 +69,7 @@ public class OrderService {
         // Step 3: Create order with PENDING status
         Order order = new Order();
         order.setUserId(request.getUserId());
+        order.setUserEmail(userEmail);
         order.setRestaurantId(request.getRestaurantId());
         order.setDeliveryAddress(request.getDeliveryAddress());
         order.setStatus("PENDING");
@@ -88,9 +96,15 @@ public class OrderService {
         // Save order first to get ID
         order = orderRepository.save(order);
         log.info("Order created with ID: {} and status: PENDING", order.getId());
+
+        // Reserve limited items; running out rolls the order back
+        restaurantServiceClient.reserveStock(order.getRestaurantId(), new StockReservationRequest(order.getId(),
+                orderItems.stream()
+                        .map(item -> new StockReservationRequest.Item(item.getMenuItemId(), item.getQuantity()))
+                        .collect(Collectors.toList())));
         
         // Publish order creation event to notify customer
-        publishOrderEvent(order, user, restaurant, "ORDER_PLACED");
+        publishOrderEvent(order, restaurant, "ORDER_PLACED");
         
         // Step 4: Process payment if payment method is provided
         if (request.getPaymentMethodId() != null && !request.getPaymentMethodId().isEmpty()) {
@@ -117,7 +131,7 @@ public class OrderService {
                     log.info("Payment successful. Order status updated to: CONFIRMED");
                     
                     // Publish confirmation event - notify both customer and restaurant
-                    publishOrderEvent(order, user, restaurant, "ORDER_CONFIRMED");
+                    publishOrderEvent(order, restaurant, "ORDER_CONFIRMED");
                     
                     // Automatically move to PREPARING status
                     order.setStatus("PREPARING");
@@ -125,7 +139,7 @@ public class OrderService {
                     log.info("Order status updated to: PREPARING");
                     
                     // Notify restaurant to prepare order
-                    publishOrderEvent(order, user, restaurant, "PREPARING");
+                    publishOrderEvent(order, restaurant, "PREPARING");
                     
                 } else {
                     // Payment failed
@@ -133,14 +147,15 @@ public class OrderService {
                     order = orderRepository.save(order);
                     log.error("Payment failed for order: {}", order.getId());
                     
-                    publishOrderEvent(order, user, restaurant, "PAYMENT_FAILED");
+                    publishOrderEvent(order, restaurant, "PAYMENT_FAILED");
                     throw new InvalidRequestException("Payment failed: " + paymentResponse.getMessage());
                 }
             } catch (Exception e) {
                 log.error("Payment processing error: {}", e.getMessage());
+                restaurantServiceClient.releaseStock(order.getRestaurantId(), order.getId());
                 order.setStatus("PAYMENT_FAILED");
                 orderRepository.save(order);
-                publishOrderEvent(order, user, restaurant, "PAYMENT_FAILED");
+                publishOrderEvent(order, restaurant, "PAYMENT_FAILED");
                 throw new InvalidRequestException("Payment processing failed: " + e.getMessage());
             }
         }
@@ -148,18 +163,21 @@ public class OrderService {
         return order;
     }
     
-    private void publishOrderEvent(Order order, UserResponse user, RestaurantResponse restaurant, String eventType) {
+    private void publishOrderEvent(Order order, RestaurantResponse restaurant, String eventType) {
         try {
             OrderStatusEvent event = new OrderStatusEvent();
             event.setOrderId(order.getId());
             event.setUserId(order.getUserId());
-            event.setUserEmail(user.getEmail());
+            event.setUserEmail(order.getUserEmail() != null ? order.getUserEmail() : lookUpEmail(order.getUserId()));
             event.setRestaurantId(order.getRestaurantId());
             event.setRestaurantName(restaurant.getName());
             event.setRestaurantEmail(restaurant.getOwnerEmail());
             event.setStatus(order.getStatus());
             event.setTotalAmount(order.getTotalAmount().doubleValue());
             event.setDeliveryAddress(order.getDeliveryAddress());
+            event.setItems(order.getOrderItems().stream()
+                    .map(item -> new OrderStatusEvent.Item(item.getMenuItemId(), item.getMenuItemName(), item.getQuantity()))
+                    .collect(Collectors.toList()));
             
             rabbitTemplate.convertAndSend(ORDER_EXCHANGE, ORDER_ROUTING_KEY, event);
             log.info("Published {} event for order: {}", eventType, order.getId());
@@ -178,6 +196,10 @@ public class OrderService {
         return orderRepository.findByUserId(userId);
     }
 
+    public List<Order> getRecentOrdersByUser(Long userId, int limit) {
+        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, limit));
+    }
+
     public List<Order> getOrdersByRestaurant(Long restaurantId) {
         return orderRepository.findByRestaurantId(restaurantId);
     }
@@ -187,12 +209,14 @@ public class OrderService {
         Order order = getOrderById(id);
         order.setStatus(status);
         order = orderRepository.save(order);
+        if ("CANCELLED".equals(status)) {
+            restaurantServiceClient.releaseStock(order.getRestaurantId(), order.getId());
+        }
         
-        // Fetch user and restaurant details for notification
+        // Fetch restaurant details for notification; the customer's email is stored on the order
         try {
-            UserResponse user = userServiceClient.getUserById(order.getUserId());
             RestaurantResponse restaurant = restaurantServiceClient.getRestaurantById(order.getRestaurantId());
-            publishOrderEvent(order, user, restaurant, "STATUS_UPDATE");
+            publishOrderEvent(order, restaurant, "STATUS_UPDATE");
         } catch (Exception e) {
             log.error("Failed to publish status update event: {}", e.getMessage());
         }
@@ -205,14 +229,20 @@ public class OrderService {
         Order order = getOrderById(id);
         order.setStatus("CANCELLED");
         orderRepository.save(order);
+        restaurantServiceClient.releaseStock(order.getRestaurantId(), order.getId());
         
         // Notify about cancellation
         try {
-            UserResponse user = userServiceClient.getUserById(order.getUserId());
             RestaurantResponse restaurant = restaurantServiceClient.getRestaurantById(order.getRestaurantId());
-            publishOrderEvent(order, user, restaurant, "ORDER_CANCELLED");
+            publishOrderEvent(order, restaurant, "ORDER_CANCELLED");
         } catch (Exception e) {
             log.error("Failed to publish cancellation event: {}", e.getMessage());
         }
     }
+
+    // Orders placed before the email was stored on the order
+    private String lookUpEmail(Long userId) {
+        UserResponse user = userServiceClient.getUserById(userId);
+        return user != null ? user.getEmail() : null;
+    }
 }
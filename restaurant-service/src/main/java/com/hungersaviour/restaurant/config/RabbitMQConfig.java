@@ -0,0 +1,36 @@
+package com.hungersaviour.restaurant.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String ORDER_EXCHANGE = "order.exchange";
+    public static final String ORDER_ROUTING_KEY = "order.status";
+
+    @Bean
+    public Exchange orderExchange() {
+        return ExchangeBuilder.topicExchange(ORDER_EXCHANGE).durable(true).build();
+    }
+
+    // Per-instance queue: every instance keeps its own popularity counters, so each must see every event
+    @Bean
+    public Queue popularDishesQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("restaurant.popular-dishes."));
+    }
+
+    @Bean
+    public Binding popularDishesBinding(Queue popularDishesQueue, Exchange orderExchange) {
+        return BindingBuilder.bind(popularDishesQueue).to(orderExchange).with(ORDER_ROUTING_KEY).noargs();
+    }
+
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
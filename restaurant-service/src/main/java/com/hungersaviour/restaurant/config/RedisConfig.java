@@ -0,0 +1,31 @@
+package com.hungersaviour.restaurant.config;
+
+import com.hungersaviour.restaurant.index.IndexSynchronizer;
+import com.hungersaviour.restaurant.service.MenuStreamService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    public static final String MENU_DELTA_CHANNEL = "restaurant.menu.deltas";
+    // restaurant ids whose details changed; every instance reindexes them
+    public static final String CATALOGUE_CHANNEL = "restaurant.catalogue.changes";
+    // subscribed by the API gateway's response cache
+    public static final String GATEWAY_CACHE_CHANNEL = "gateway.cache.invalidations";
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       MenuStreamService menuStreamService,
+                                                                       IndexSynchronizer indexSynchronizer) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(menuStreamService, new ChannelTopic(MENU_DELTA_CHANNEL));
+        container.addMessageListener(indexSynchronizer, new ChannelTopic(MENU_DELTA_CHANNEL));
+        container.addMessageListener(indexSynchronizer, new ChannelTopic(CATALOGUE_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hungersaviour.restaurant.config;
+
+import com.hungersaviour.restaurant.dto.RestaurantSummary;
+import com.hungersaviour.restaurant.model.MenuItem;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.web.fields.SparseFields;
+import com.hungersaviour.web.fields.SparseFieldsAdvice;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// ?fields= sparse fieldsets for restaurant, listing and menu item responses
+@Configuration
+@Import(SparseFieldsAdvice.class)
+public class SparseFieldsConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return SparseFields.customizer(Restaurant.class, RestaurantSummary.class, MenuItem.class);
+    }
+}
@@ -0,0 +1,19 @@
+package com.hungersaviour.restaurant.config;
+
+import com.hungersaviour.restaurant.warmup.HotRestaurantInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private HotRestaurantInterceptor hotRestaurantInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(hotRestaurantInterceptor).addPathPatterns("/api/restaurants/**");
+    }
+}
@@ -1,12 +1,32 @@
 package com.hungersaviour.restaurant.controller;
 
+import com.hungersaviour.restaurant.dto.MenuImportReport;
+import com.hungersaviour.restaurant.dto.MenuSnapshot;
+import com.hungersaviour.restaurant.dto.MenuVersion;
+import com.hungersaviour.restaurant.dto.PopularDish;
+import com.hungersaviour.restaurant.dto.RestaurantSummary;
+import com.hungersaviour.restaurant.dto.ReviewPage;
+import com.hungersaviour.restaurant.dto.SearchResult;
+import com.hungersaviour.restaurant.exception.UnauthorizedException;
 import com.hungersaviour.restaurant.model.MenuItem;
 import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.model.Review;
 import com.hungersaviour.restaurant.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,6 +37,15 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    // Set by the API gateway after it has verified the caller's token
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    @Value("${security.gateway-headers.trusted:false}")
+    private boolean trustGatewayHeaders;
+
+    @Value("${menu.cache.shared-max-age-seconds:300}")
+    private long menuSharedMaxAgeSeconds;
+
     @PostMapping
     public ResponseEntity<Restaurant> createRestaurant(@RequestBody Restaurant restaurant) {
         return ResponseEntity.ok(restaurantService.createRestaurant(restaurant));
@@ -28,8 +57,32 @@ public class RestaurantController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        return ResponseEntity.ok(restaurantService.getAllRestaurants());
+    public ResponseEntity<List<Restaurant>> getAllRestaurants(@RequestParam(required = false) String cuisine,
+                                                              @RequestParam(defaultValue = "false") boolean openNow,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt) {
+        List<Restaurant> restaurants = restaurantService.getAllRestaurants();
+        return ResponseEntity.ok(restaurantService.filterRestaurants(restaurants, cuisine, openingTime(openNow, openAt)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchResult>> search(@RequestParam("q") String query,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(restaurantService.search(query, limit));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<RestaurantSummary>> getNearbyRestaurants(@RequestParam double lat,
+                                                                        @RequestParam double lng,
+                                                                        @RequestParam(defaultValue = "5") double radius,
+                                                                        @RequestParam(defaultValue = "0") int page,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        @RequestParam(required = false) String cuisine,
+                                                                        @RequestParam(defaultValue = "false") boolean openNow,
+                                                                        @RequestParam(required = false)
+                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt) {
+        return ResponseEntity.ok(restaurantService.findNearby(lat, lng, radius, page, size,
+                cuisine, openingTime(openNow, openAt)));
     }
 
     @GetMapping("/owner/{ownerId}")
@@ -53,9 +106,62 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.addMenuItem(restaurantId, menuItem));
     }
 
+    @PostMapping(value = "/{restaurantId}/menu/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<MenuImportReport> importMenu(@PathVariable Long restaurantId,
+                                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                       InputStream body) throws IOException {
+        return ResponseEntity.ok(restaurantService.importMenu(restaurantId, body, contentType));
+    }
+
     @GetMapping("/{restaurantId}/menu")
-    public ResponseEntity<List<MenuItem>> getMenuItems(@PathVariable Long restaurantId) {
-        return ResponseEntity.ok(restaurantService.getMenuItems(restaurantId));
+    public ResponseEntity<byte[]> getMenuItems(@PathVariable Long restaurantId, WebRequest request) {
+        // Answer repeat fetches from the menu version alone; ETag/Last-Modified are set by checkNotModified
+        MenuVersion version = restaurantService.getMenuVersion(restaurantId);
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        // The menu is pre-serialized per version, so the body is written as-is without object mapping
+        MenuSnapshot snapshot = restaurantService.getMenuSnapshot(version);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                // browsers revalidate every time; shared caches (the gateway) may serve it until invalidated
+                .cacheControl(CacheControl.maxAge(Duration.ZERO).sMaxAge(Duration.ofSeconds(menuSharedMaxAgeSeconds)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzippedJson());
+        }
+        return response.body(snapshot.getJson());
+    }
+
+    @GetMapping("/{restaurantId}/menu/popular")
+    public ResponseEntity<List<PopularDish>> getPopularDishes(@PathVariable Long restaurantId,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(restaurantService.getPopularDishes(restaurantId, limit));
+    }
+
+    @GetMapping(value = "/{restaurantId}/menu/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenuDeltas(@PathVariable Long restaurantId,
+                                       @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                       @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        // EventSource only sends Last-Event-ID on reconnects; first connections pass the menu version instead
+        return restaurantService.streamMenuDeltas(restaurantId, lastEventId != null ? lastEventId : lastEventIdParam);
+    }
+
+    // the author is the caller the gateway verified, never a user id from the body
+    @PostMapping("/{restaurantId}/reviews")
+    public ResponseEntity<Review> addReview(@PathVariable Long restaurantId, @RequestBody Review review,
+                                            @RequestHeader(value = USER_ID_HEADER, required = false) Long userId) {
+        if (!trustGatewayHeaders || userId == null) {
+            throw new UnauthorizedException("Sign in to post a review");
+        }
+        return ResponseEntity.ok(restaurantService.addReview(restaurantId, userId, review));
+    }
+
+    @GetMapping("/{restaurantId}/reviews")
+    public ResponseEntity<ReviewPage> getReviews(@PathVariable Long restaurantId,
+                                                 @RequestParam(required = false) Long before,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(restaurantService.getReviews(restaurantId, before, size));
     }
 
     @PutMapping("/menu/{id}")
@@ -73,4 +179,21 @@ public class RestaurantController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Restaurant Service is running");
     }
+
+    private LocalDateTime openingTime(boolean openNow, LocalDateTime openAt) {
+        return openAt != null ? openAt : openNow ? restaurantService.openingHoursNow() : null;
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
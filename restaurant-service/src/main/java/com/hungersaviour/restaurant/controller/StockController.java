@@ -0,0 +1,29 @@
+package com.hungersaviour.restaurant.controller;
+
+import com.hungersaviour.restaurant.dto.StockReservationRequest;
+import com.hungersaviour.restaurant.service.RestaurantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Called by order-service only; the gateway does not route /internal/**
+@RestController
+@RequestMapping("/internal/restaurants")
+public class StockController {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @PostMapping("/{restaurantId}/stock/reservations")
+    public ResponseEntity<Void> reserveStock(@PathVariable Long restaurantId,
+                                             @RequestBody StockReservationRequest request) {
+        restaurantService.reserveStock(restaurantId, request);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{restaurantId}/stock/reservations/{orderId}")
+    public ResponseEntity<Void> releaseStock(@PathVariable Long restaurantId, @PathVariable Long orderId) {
+        restaurantService.releaseStock(restaurantId, orderId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published when a restaurant's public data changes (details, hours, rating); menu changes
+ * are announced through {@link MenuDelta}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogueChange {
+    private Long restaurantId;
+}
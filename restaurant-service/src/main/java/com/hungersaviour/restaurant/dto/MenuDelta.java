@@ -0,0 +1,28 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuDelta implements Serializable {
+    public static final String ITEM_ADDED = "ITEM_ADDED";
+    public static final String ITEM_UPDATED = "ITEM_UPDATED";
+    public static final String ITEM_REMOVED = "ITEM_REMOVED";
+    public static final String MENU_RELOADED = "MENU_RELOADED";
+
+    private Long restaurantId;
+    private Long sequence; // menu version produced by this change
+    private String type; // ITEM_ADDED, ITEM_UPDATED, ITEM_REMOVED, MENU_RELOADED (item fields empty)
+    private Long menuItemId;
+    private String name;
+    private BigDecimal price;
+    private Boolean isAvailable;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,29 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class MenuImportReport {
+    private Long restaurantId;
+    private int totalRows;
+    private int inserted;
+    private int updated;
+    private int failed;
+    private Long menuVersion;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class MenuImportRow {
+    private Long id; // optional: update this item instead of matching by name
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private String category;
+    private Boolean isAvailable;
+}
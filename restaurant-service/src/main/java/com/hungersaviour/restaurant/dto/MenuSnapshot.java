@@ -0,0 +1,22 @@
+package com.hungersaviour.restaurant.dto;
+
+import com.hungersaviour.restaurant.model.MenuItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A restaurant's available menu for one menu version, serialized to JSON once and kept both
+ * raw and gzip-compressed so a GET is a single buffer write. The items themselves are kept for
+ * in-process readers such as popular dishes.
+ */
+@Getter
+@AllArgsConstructor
+public class MenuSnapshot {
+    private final Long restaurantId;
+    private final long version;
+    private final List<MenuItem> items;
+    private final byte[] json;
+    private final byte[] gzippedJson;
+}
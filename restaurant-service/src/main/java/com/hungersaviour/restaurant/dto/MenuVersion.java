@@ -0,0 +1,25 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuVersion {
+    private Long restaurantId;
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    public String getETag() {
+        return "\"menu-" + restaurantId + "-" + version + "\"";
+    }
+
+    public long getLastModifiedMillis() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
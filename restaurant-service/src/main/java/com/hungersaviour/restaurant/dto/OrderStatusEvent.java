@@ -0,0 +1,29 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusEvent {
+    public static final String STATUS_CONFIRMED = "CONFIRMED";
+
+    private Long orderId;
+    private Long restaurantId;
+    private String status;
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long menuItemId;
+        private String menuItemName;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularDish {
+    private Long menuItemId;
+    private String name;
+    private BigDecimal price;
+    private double score; // decayed order count, approximate
+}
@@ -0,0 +1,20 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantSummary {
+    private Long id;
+    private String name;
+    private String cuisine;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private Double averageRating;
+    private Long reviewCount;
+    private Double distanceKm;
+}
@@ -0,0 +1,16 @@
+package com.hungersaviour.restaurant.dto;
+
+import com.hungersaviour.restaurant.model.Review;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewPage {
+    private List<Review> reviews;
+    private Long nextCursor; // null on the last page
+}
@@ -0,0 +1,20 @@
+package com.hungersaviour.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+    public static final String TYPE_RESTAURANT = "RESTAURANT";
+    public static final String TYPE_MENU_ITEM = "MENU_ITEM";
+
+    private String type; // RESTAURANT, MENU_ITEM
+    private Long id;
+    private Long restaurantId;
+    private String name;
+    private String subtitle; // cuisine for restaurants, category for menu items
+    private float score;
+}
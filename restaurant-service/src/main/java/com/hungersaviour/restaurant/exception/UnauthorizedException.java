@@ -0,0 +1,7 @@
+package com.hungersaviour.restaurant.exception;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,162 @@
+package com.hungersaviour.restaurant.index;
+
+import com.hungersaviour.restaurant.dto.RestaurantSummary;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-size latitude/longitude grid over active restaurants that have coordinates.
+ * A radius query only visits the handful of cells overlapping the search circle's bounding
+ * box and computes haversine distances for the restaurants in those cells.
+ */
+@Component
+@Slf4j
+public class GeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Value("${geo.index.cell-size-degrees:0.05}")
+    private double cellSizeDegrees;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            entries.clear();
+            cells.clear();
+            restaurantRepository.findByIsActiveTrue().forEach(this::index);
+        }
+        log.info("Geo index built with {} restaurants in {} ms", entries.size(), System.currentTimeMillis() - start);
+    }
+
+    public synchronized void index(Restaurant restaurant) {
+        remove(restaurant.getId());
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())
+                || restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            return;
+        }
+        Entry entry = new Entry(restaurant.getId(), restaurant.getName(), restaurant.getCuisine(),
+                restaurant.getAddress(), restaurant.getLatitude(), restaurant.getLongitude(),
+                restaurant.getAverageRating(), restaurant.getReviewCount(),
+                cellKey(row(restaurant.getLatitude()), column(restaurant.getLongitude())));
+        entries.put(entry.id, entry);
+        cells.computeIfAbsent(entry.cell, c -> ConcurrentHashMap.newKeySet()).add(entry.id);
+    }
+
+    public synchronized void remove(Long restaurantId) {
+        Entry previous = entries.remove(restaurantId);
+        if (previous != null) {
+            cells.computeIfPresent(previous.cell, (c, ids) -> {
+                ids.remove(restaurantId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Returns the restaurants within {@code radiusKm} of the given point that pass {@code filter}, nearest first.
+     */
+    public List<RestaurantSummary> nearby(double latitude, double longitude, double radiusKm, int page, int size,
+                                          Predicate<Long> filter) {
+        List<Candidate> candidates = new ArrayList<>();
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lngDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+
+        int minRow = Math.max(0, row(latitude - latDelta));
+        int maxRow = Math.min(rows() - 1, row(latitude + latDelta));
+        int columns = columns();
+        int minColumn = column(longitude - lngDelta);
+        int maxColumn = column(longitude + lngDelta);
+        int columnSpan = Math.min(columns, maxColumn - minColumn + 1);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int offset = 0; offset < columnSpan; offset++) {
+                // wrap around the antimeridian
+                int column = Math.floorMod(minColumn + offset, columns);
+                Set<Long> ids = cells.get(cellKey(row, column));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Entry entry = entries.get(id);
+                    if (entry == null || !filter.test(id)) {
+                        continue;
+                    }
+                    double distance = haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        candidates.add(new Candidate(entry, distance));
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(Candidate::distanceKm));
+        int from = Math.min(candidates.size(), page * size);
+        int to = Math.min(candidates.size(), from + size);
+        List<RestaurantSummary> results = new ArrayList<>(to - from);
+        for (Candidate candidate : candidates.subList(from, to)) {
+            Entry entry = candidate.entry;
+            results.add(new RestaurantSummary(entry.id, entry.name, entry.cuisine, entry.address,
+                    entry.latitude, entry.longitude, entry.averageRating, entry.reviewCount, candidate.distanceKm));
+        }
+        return results;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows() - 1, (int) Math.floor((latitude + 90) / cellSizeDegrees));
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellSizeDegrees);
+    }
+
+    private int rows() {
+        return (int) Math.ceil(180 / cellSizeDegrees);
+    }
+
+    private int columns() {
+        return (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columns() + Math.floorMod(column, columns());
+    }
+
+    private record Entry(Long id, String name, String cuisine, String address,
+                         double latitude, double longitude, Double averageRating, Long reviewCount, long cell) {
+    }
+
+    private record Candidate(Entry entry, double distanceKm) {
+    }
+}
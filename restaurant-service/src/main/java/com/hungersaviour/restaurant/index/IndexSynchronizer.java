@@ -0,0 +1,101 @@
+package com.hungersaviour.restaurant.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hungersaviour.restaurant.config.RedisConfig;
+import com.hungersaviour.restaurant.dto.CatalogueChange;
+import com.hungersaviour.restaurant.dto.MenuDelta;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.repository.MenuItemRepository;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Keeps the in-memory indexes of every instance in step with writes made on any of them.
+ * Restaurant changes are announced on their own channel after commit; menu changes already
+ * travel as {@link MenuDelta}s. Each instance, the writer included, then reloads the changed
+ * rows from the database, so an index never applies a change its own database read would not
+ * see. Changes published while Redis is unreachable are picked up at the next restart.
+ */
+@Component
+@Slf4j
+public class IndexSynchronizer implements MessageListener {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private RestaurantBitmapIndex bitmapIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChange(CatalogueChange change) {
+        try {
+            redisTemplate.convertAndSend(RedisConfig.CATALOGUE_CHANNEL, String.valueOf(change.getRestaurantId()));
+        } catch (Exception e) {
+            log.warn("Failed to announce index update for restaurant {}: {}", change.getRestaurantId(), e.getMessage());
+        }
+    }
+
+    // read-only transaction: menu items reach their lazily loaded restaurant while indexing
+    @Override
+    @Transactional(readOnly = true)
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        try {
+            if (RedisConfig.MENU_DELTA_CHANNEL.equals(channel)) {
+                applyMenuDelta(objectMapper.readValue(message.getBody(), MenuDelta.class));
+            } else {
+                reindexRestaurant(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply index update from {}: {}", channel, e.getMessage());
+        }
+    }
+
+    private void reindexRestaurant(Long restaurantId) {
+        Optional<Restaurant> restaurant = restaurantRepository.findById(restaurantId);
+        if (restaurant.isPresent()) {
+            searchIndex.indexRestaurant(restaurant.get());
+            geoIndex.index(restaurant.get());
+            bitmapIndex.index(restaurant.get());
+        } else {
+            searchIndex.removeRestaurant(restaurantId);
+            geoIndex.remove(restaurantId);
+            bitmapIndex.remove(restaurantId);
+        }
+    }
+
+    private void applyMenuDelta(MenuDelta delta) {
+        switch (delta.getType()) {
+            case MenuDelta.MENU_RELOADED ->
+                    searchIndex.replaceMenuItems(delta.getRestaurantId(), menuItemRepository.findByRestaurantId(delta.getRestaurantId()));
+            case MenuDelta.ITEM_REMOVED -> searchIndex.removeMenuItem(delta.getMenuItemId());
+            default -> menuItemRepository.findById(delta.getMenuItemId()).ifPresentOrElse(searchIndex::indexMenuItem,
+                    () -> searchIndex.removeMenuItem(delta.getMenuItemId()));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hungersaviour.restaurant.index;
+
+import java.util.*;
+
+/**
+ * Fixed-size, exponentially decayed item counter for one restaurant: a count-min sketch
+ * estimates every item's count and a small heavy-hitters table keeps the current top K.
+ * Decay uses forward weighting: an order at time t adds e^(lambda * (t - landmark)), and
+ * reads scale back by e^(-lambda * (now - landmark)), so nothing has to be touched as time
+ * passes. Counters are renormalized to a new landmark before the weights grow too large.
+ */
+public class PopularitySketch {
+
+    private static final double MAX_EXPONENT = 30;
+    private static final long[] HASH_SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final double[][] counters;
+    private final int width;
+    private final int topK;
+    private final double lambda;
+    private final Map<Long, Double> heavyHitters = new HashMap<>();
+    private long landmarkMillis;
+
+    public PopularitySketch(int width, int depth, int topK, double halfLifeMillis, long nowMillis) {
+        if (depth < 1 || depth > HASH_SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + HASH_SEEDS.length);
+        }
+        this.counters = new double[depth][width];
+        this.width = width;
+        this.topK = topK;
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.landmarkMillis = nowMillis;
+    }
+
+    public synchronized void add(long itemId, int quantity, long nowMillis) {
+        double exponent = lambda * (nowMillis - landmarkMillis);
+        if (exponent > MAX_EXPONENT) {
+            renormalize(nowMillis);
+            exponent = 0;
+        }
+        double weight = quantity * Math.exp(exponent);
+
+        // conservative update: only raise the counters that are below the new estimate
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][bucket(itemId, row)]);
+        }
+        estimate += weight;
+        for (int row = 0; row < counters.length; row++) {
+            int bucket = bucket(itemId, row);
+            counters[row][bucket] = Math.max(counters[row][bucket], estimate);
+        }
+        offer(itemId, estimate);
+    }
+
+    /**
+     * Returns the heavy hitters, most popular first, with counts decayed to {@code nowMillis}.
+     */
+    public synchronized List<Map.Entry<Long, Double>> top(long nowMillis) {
+        double scale = Math.exp(-lambda * (nowMillis - landmarkMillis));
+        List<Map.Entry<Long, Double>> result = new ArrayList<>(heavyHitters.size());
+        heavyHitters.forEach((itemId, count) -> result.add(Map.entry(itemId, count * scale)));
+        result.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        return result;
+    }
+
+    private void offer(long itemId, double estimate) {
+        if (heavyHitters.containsKey(itemId) || heavyHitters.size() < topK) {
+            heavyHitters.put(itemId, estimate);
+            return;
+        }
+        Map.Entry<Long, Double> weakest = null;
+        for (Map.Entry<Long, Double> entry : heavyHitters.entrySet()) {
+            if (weakest == null || entry.getValue() < weakest.getValue()) {
+                weakest = entry;
+            }
+        }
+        if (estimate > weakest.getValue()) {
+            heavyHitters.remove(weakest.getKey());
+            heavyHitters.put(itemId, estimate);
+        }
+    }
+
+    private void renormalize(long nowMillis) {
+        double scale = Math.exp(-lambda * (nowMillis - landmarkMillis));
+        for (double[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= scale;
+            }
+        }
+        heavyHitters.replaceAll((itemId, count) -> count * scale);
+        landmarkMillis = nowMillis;
+    }
+
+    private int bucket(long itemId, int row) {
+        long hash = (itemId + 1) * HASH_SEEDS[row];
+        hash ^= hash >>> 31;
+        return (int) Math.floorMod(hash, (long) width);
+    }
+}
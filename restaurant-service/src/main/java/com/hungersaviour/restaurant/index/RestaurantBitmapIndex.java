@@ -0,0 +1,243 @@
+package com.hungersaviour.restaurant.index;
+
+import com.hungersaviour.restaurant.model.OpeningPeriod;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.model.SpecialHours;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmaps over active restaurants for listing filters. Each restaurant gets a dense ordinal;
+ * opening hours are expanded into one bitmap per 15-minute slot of the week, with per-date
+ * overrides for special hours, and cuisines get one bitmap each. "Open at T" and cuisine
+ * filters are then a couple of bitset operations instead of evaluating every schedule.
+ */
+@Component
+@Slf4j
+public class RestaurantBitmapIndex {
+
+    private static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Value("${opening-hours.zone:}")
+    private String zone;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+    private final BitSet active = new BitSet();
+    private final BitSet[] weeklySlots = new BitSet[SLOTS_PER_WEEK];
+    private final Map<LocalDate, DayOverride> overrides = new HashMap<>();
+    private final Map<String, BitSet> cuisines = new HashMap<>();
+
+    public RestaurantBitmapIndex() {
+        for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+            weeklySlots[i] = new BitSet();
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Restaurant> restaurants = restaurantRepository.findByIsActiveTrue();
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            freeOrdinals.clear();
+            nextOrdinal = 0;
+            active.clear();
+            for (BitSet slot : weeklySlots) {
+                slot.clear();
+            }
+            overrides.clear();
+            cuisines.clear();
+            restaurants.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Bitmap index built for {} restaurants in {} ms", restaurants.size(), System.currentTimeMillis() - start);
+    }
+
+    public void index(Restaurant restaurant) {
+        lock.writeLock().lock();
+        try {
+            clear(restaurant.getId());
+            if (Boolean.TRUE.equals(restaurant.getIsActive())) {
+                add(restaurant);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            clear(restaurantId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active restaurants matching all given filters; {@code null} filters are ignored.
+     */
+    public BitSet select(String cuisine, LocalDateTime openAt) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) active.clone();
+            if (cuisine != null) {
+                BitSet matching = cuisines.get(normalizeCuisine(cuisine));
+                if (matching == null) {
+                    return new BitSet();
+                }
+                result.and(matching);
+            }
+            if (openAt != null) {
+                result.and(openBitmap(openAt));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean matches(BitSet selection, Long restaurantId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(restaurantId);
+            return ordinal != null && selection.get(ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LocalDateTime now() {
+        ZoneId zoneId = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        return LocalDateTime.now(zoneId);
+    }
+
+    private BitSet openBitmap(LocalDateTime at) {
+        int slotOfDay = (at.getHour() * 60 + at.getMinute()) / SLOT_MINUTES;
+        BitSet open = (BitSet) weeklySlots[weekSlot(at.getDayOfWeek(), slotOfDay)].clone();
+        DayOverride override = overrides.get(at.toLocalDate());
+        if (override != null) {
+            open.andNot(override.affected);
+            open.or(override.slots[slotOfDay]);
+        }
+        return open;
+    }
+
+    private void add(Restaurant restaurant) {
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        ordinals.put(restaurant.getId(), ordinal);
+        active.set(ordinal);
+
+        for (OpeningPeriod period : restaurant.getOpeningHours()) {
+            int from = weekSlot(period.getDayOfWeek(), slotOf(period.getOpensAt()));
+            int length = slotsBetween(period.getOpensAt(), period.getClosesAt());
+            for (int i = 0; i < length; i++) {
+                // wraps from Sunday night into Monday morning
+                weeklySlots[(from + i) % SLOTS_PER_WEEK].set(ordinal);
+            }
+        }
+
+        LocalDate yesterday = now().toLocalDate().minusDays(1);
+        for (SpecialHours special : restaurant.getSpecialHours()) {
+            if (special.getDate().isBefore(yesterday)) {
+                continue;
+            }
+            DayOverride override = overrides.computeIfAbsent(special.getDate(), d -> new DayOverride());
+            override.affected.set(ordinal);
+            if (Boolean.TRUE.equals(special.getClosed()) || special.getOpensAt() == null || special.getClosesAt() == null) {
+                continue;
+            }
+            int from = slotOf(special.getOpensAt());
+            int to = special.getClosesAt().isAfter(special.getOpensAt()) ? slotOf(special.getClosesAt()) : SLOTS_PER_DAY;
+            for (int slot = from; slot < to; slot++) {
+                override.slots[slot].set(ordinal);
+            }
+        }
+
+        for (String cuisine : cuisinesOf(restaurant)) {
+            cuisines.computeIfAbsent(cuisine, c -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private void clear(Long restaurantId) {
+        Integer ordinal = ordinals.remove(restaurantId);
+        if (ordinal == null) {
+            return;
+        }
+        active.clear(ordinal);
+        for (BitSet slot : weeklySlots) {
+            slot.clear(ordinal);
+        }
+        overrides.values().removeIf(override -> {
+            override.affected.clear(ordinal);
+            for (BitSet slot : override.slots) {
+                slot.clear(ordinal);
+            }
+            return override.affected.isEmpty();
+        });
+        cuisines.values().removeIf(bits -> {
+            bits.clear(ordinal);
+            return bits.isEmpty();
+        });
+        freeOrdinals.push(ordinal);
+    }
+
+    private static List<String> cuisinesOf(Restaurant restaurant) {
+        if (restaurant.getCuisine() == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(restaurant.getCuisine().split(","))
+                .map(RestaurantBitmapIndex::normalizeCuisine)
+                .filter(c -> !c.isEmpty())
+                .toList();
+    }
+
+    private static String normalizeCuisine(String cuisine) {
+        return cuisine.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int weekSlot(DayOfWeek day, int slotOfDay) {
+        return (day.getValue() - 1) * SLOTS_PER_DAY + slotOfDay;
+    }
+
+    private static int slotOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    private static int slotsBetween(LocalTime opensAt, LocalTime closesAt) {
+        int open = slotOf(opensAt);
+        int close = (closesAt.getHour() * 60 + closesAt.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        return close > open ? close - open : SLOTS_PER_DAY - open + close;
+    }
+
+    private static class DayOverride {
+        private final BitSet affected = new BitSet();
+        private final BitSet[] slots = new BitSet[SLOTS_PER_DAY];
+
+        DayOverride() {
+            for (int i = 0; i < SLOTS_PER_DAY; i++) {
+                slots[i] = new BitSet();
+            }
+        }
+    }
+}
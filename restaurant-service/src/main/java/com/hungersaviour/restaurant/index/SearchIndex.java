@@ -0,0 +1,243 @@
+package com.hungersaviour.restaurant.index;
+
+import com.hungersaviour.restaurant.dto.SearchResult;
+import com.hungersaviour.restaurant.model.MenuItem;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.repository.MenuItemRepository;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over restaurant names/cuisines and menu item names/descriptions.
+ * Postings live in a sorted term dictionary so the last query token can be matched as a prefix
+ * (search-as-you-type). Scores are field weight x IDF, summed over query tokens; exact term
+ * matches rank above prefix matches.
+ */
+@Component
+@Slf4j
+public class SearchIndex {
+
+    private static final float RESTAURANT_NAME_WEIGHT = 3.0f;
+    private static final float CUISINE_WEIGHT = 2.0f;
+    private static final float MENU_ITEM_NAME_WEIGHT = 2.0f;
+    private static final float MENU_ITEM_DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_FACTOR = 0.6f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    // term -> (document -> field weight)
+    private final ConcurrentSkipListMap<String, Map<DocKey, Float>> postings = new ConcurrentSkipListMap<>();
+
+    // document -> indexed terms, so updates can retract stale postings
+    private final Map<DocKey, Document> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            postings.clear();
+            documents.clear();
+            restaurantRepository.findByIsActiveTrue().forEach(this::indexRestaurant);
+            menuItemRepository.findByIsAvailableTrue().forEach(this::indexMenuItem);
+        }
+        log.info("Search index built with {} documents and {} terms in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public synchronized void indexRestaurant(Restaurant restaurant) {
+        DocKey key = new DocKey(SearchResult.TYPE_RESTAURANT, restaurant.getId());
+        if (!Boolean.TRUE.equals(restaurant.getIsActive())) {
+            remove(key);
+            return;
+        }
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, restaurant.getName(), RESTAURANT_NAME_WEIGHT);
+        addTerms(terms, restaurant.getCuisine(), CUISINE_WEIGHT);
+        put(new Document(key, restaurant.getId(), restaurant.getName(), restaurant.getCuisine(), terms));
+    }
+
+    public synchronized void removeRestaurant(Long restaurantId) {
+        remove(new DocKey(SearchResult.TYPE_RESTAURANT, restaurantId));
+    }
+
+    public synchronized void indexMenuItem(MenuItem menuItem) {
+        DocKey key = new DocKey(SearchResult.TYPE_MENU_ITEM, menuItem.getId());
+        if (!Boolean.TRUE.equals(menuItem.getIsAvailable()) || menuItem.getRestaurant() == null) {
+            remove(key);
+            return;
+        }
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, menuItem.getName(), MENU_ITEM_NAME_WEIGHT);
+        addTerms(terms, menuItem.getDescription(), MENU_ITEM_DESCRIPTION_WEIGHT);
+        Long restaurantId = menuItem.getRestaurant().getId();
+        put(new Document(key, restaurantId, menuItem.getName(), menuItem.getCategory(), terms));
+    }
+
+    public synchronized void removeMenuItem(Long menuItemId) {
+        remove(new DocKey(SearchResult.TYPE_MENU_ITEM, menuItemId));
+    }
+
+    // after a bulk import: drops dishes that are gone and reindexes the rest
+    public synchronized void replaceMenuItems(Long restaurantId, List<MenuItem> menuItems) {
+        List<DocKey> stale = documents.values().stream()
+                .filter(document -> SearchResult.TYPE_MENU_ITEM.equals(document.key.type)
+                        && restaurantId.equals(document.restaurantId))
+                .map(Document::key)
+                .toList();
+        stale.forEach(this::remove);
+        menuItems.forEach(this::indexMenuItem);
+    }
+
+    public List<SearchResult> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        double documentCount = Math.max(documents.size(), 1);
+        Map<DocKey, Float> scores = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean prefix = i == tokens.size() - 1;
+            Map<DocKey, Float> tokenScores = scoreToken(tokens.get(i), prefix, documentCount);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // every query token must match somewhere in the document
+                Map<DocKey, Float> tokenMatches = tokenScores;
+                scores.keySet().retainAll(tokenMatches.keySet());
+                scores.replaceAll((doc, score) -> score + tokenMatches.get(doc));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        PriorityQueue<SearchResult> top = new PriorityQueue<>(Comparator.comparingDouble(SearchResult::getScore));
+        for (Map.Entry<DocKey, Float> entry : scores.entrySet()) {
+            Document document = documents.get(entry.getKey());
+            if (document == null || !isVisible(document)) {
+                continue;
+            }
+            top.offer(new SearchResult(document.key.type, document.key.id, document.restaurantId,
+                    document.name, document.subtitle, entry.getValue()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<SearchResult> results = new ArrayList<>(top);
+        results.sort(Comparator.comparingDouble(SearchResult::getScore).reversed());
+        return results;
+    }
+
+    private Map<DocKey, Float> scoreToken(String token, boolean prefix, double documentCount) {
+        Map<DocKey, Float> tokenScores = new HashMap<>();
+        Map<DocKey, Float> exact = postings.get(token);
+        if (exact != null) {
+            accumulate(tokenScores, exact, idf(exact.size(), documentCount));
+        }
+        if (prefix) {
+            ConcurrentNavigableMap<String, Map<DocKey, Float>> expansions =
+                    postings.subMap(token, false, token + Character.MAX_VALUE, false);
+            int expanded = 0;
+            for (Map<DocKey, Float> docs : expansions.values()) {
+                if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                accumulate(tokenScores, docs, idf(docs.size(), documentCount) * PREFIX_MATCH_FACTOR);
+            }
+        }
+        return tokenScores;
+    }
+
+    private void accumulate(Map<DocKey, Float> tokenScores, Map<DocKey, Float> docs, double idf) {
+        for (Map.Entry<DocKey, Float> posting : docs.entrySet()) {
+            float score = (float) (posting.getValue() * idf);
+            // a token counts once per document: keep its best-scoring term
+            tokenScores.merge(posting.getKey(), score, Math::max);
+        }
+    }
+
+    private double idf(int documentFrequency, double documentCount) {
+        return Math.log(1.0 + documentCount / documentFrequency);
+    }
+
+    // dishes of a deactivated restaurant stay indexed but are hidden until it is reactivated
+    private boolean isVisible(Document document) {
+        if (SearchResult.TYPE_RESTAURANT.equals(document.key.type)) {
+            return true;
+        }
+        return documents.containsKey(new DocKey(SearchResult.TYPE_RESTAURANT, document.restaurantId));
+    }
+
+    private void put(Document document) {
+        remove(document.key);
+        documents.put(document.key, document);
+        document.terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(document.key, weight));
+    }
+
+    private void remove(DocKey key) {
+        Document previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms.keySet()) {
+            postings.computeIfPresent(term, (t, docs) -> {
+                docs.remove(key);
+                return docs.isEmpty() ? null : docs;
+            });
+        }
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private record DocKey(String type, Long id) {
+    }
+
+    private record Document(DocKey key, Long restaurantId, String name, String subtitle, Map<String, Float> terms) {
+    }
+}
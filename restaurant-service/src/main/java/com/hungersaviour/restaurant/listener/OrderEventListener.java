@@ -0,0 +1,28 @@
+package com.hungersaviour.restaurant.listener;
+
+import com.hungersaviour.restaurant.dto.OrderStatusEvent;
+import com.hungersaviour.restaurant.service.PopularDishesService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class OrderEventListener {
+
+    @Autowired
+    private PopularDishesService popularDishesService;
+
+    @RabbitListener(queues = "#{popularDishesQueue.name}")
+    public void handleOrderStatusUpdate(OrderStatusEvent event) {
+        // An order is counted once, when it is confirmed; later status changes carry the same items
+        if (!OrderStatusEvent.STATUS_CONFIRMED.equals(event.getStatus()) || event.getRestaurantId() == null
+                || event.getItems() == null) {
+            return;
+        }
+        log.debug("Counting {} items of order {} for restaurant {}", event.getItems().size(),
+                event.getOrderId(), event.getRestaurantId());
+        popularDishesService.record(event);
+    }
+}
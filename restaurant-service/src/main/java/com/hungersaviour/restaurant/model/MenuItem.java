@@ -32,6 +32,8 @@ public class MenuItem {
     @Column(nullable = false)
     private Boolean isAvailable = true;
 
+    private Integer dailyStock; // null means unlimited; reservations are counted in Redis, see StockService
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     @JsonIgnore
@@ -0,0 +1,25 @@
+package com.hungersaviour.restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningPeriod {
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime opensAt;
+
+    @Column(nullable = false)
+    private LocalTime closesAt; // at or before opensAt means the period runs past midnight
+}
@@ -1,13 +1,18 @@
 package com.hungersaviour.restaurant.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "restaurants")
@@ -25,6 +30,9 @@ public class Restaurant {
     @Column(nullable = false)
     private String address;
 
+    private Double latitude;
+    private Double longitude;
+
     private String cuisine;
     private String description;
     private String phoneNumber;
@@ -36,6 +44,51 @@ public class Restaurant {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Only ever written by RestaurantRepository.incrementMenuVersion, never by entity saves
+    @Column(insertable = false, updatable = false)
+    private Long menuVersion;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime menuUpdatedAt;
+
+    // Review aggregates, only ever written by RestaurantRepository.addRating
+    @Column(insertable = false, updatable = false)
+    private Long reviewCount;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long ratingSum;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long rating1Count;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long rating2Count;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long rating3Count;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long rating4Count;
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long rating5Count;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "restaurant_opening_hours", joinColumns = @JoinColumn(name = "restaurant_id"))
+    @Fetch(FetchMode.SUBSELECT)
+    private List<OpeningPeriod> openingHours = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "restaurant_special_hours", joinColumns = @JoinColumn(name = "restaurant_id"))
+    @Fetch(FetchMode.SUBSELECT)
+    private List<SpecialHours> specialHours = new ArrayList<>();
+
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MenuItem> menuItems = new ArrayList<>();
 
@@ -45,6 +98,27 @@ public class Restaurant {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    public Long getReviewCount() {
+        return reviewCount == null ? 0L : reviewCount;
+    }
+
+    public Double getAverageRating() {
+        if (reviewCount == null || reviewCount == 0 || ratingSum == null) {
+            return null;
+        }
+        return Math.round(ratingSum * 100.0 / reviewCount) / 100.0;
+    }
+
+    public Map<Integer, Long> getRatingDistribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(5, rating5Count == null ? 0L : rating5Count);
+        distribution.put(4, rating4Count == null ? 0L : rating4Count);
+        distribution.put(3, rating3Count == null ? 0L : rating3Count);
+        distribution.put(2, rating2Count == null ? 0L : rating2Count);
+        distribution.put(1, rating1Count == null ? 0L : rating1Count);
+        return distribution;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
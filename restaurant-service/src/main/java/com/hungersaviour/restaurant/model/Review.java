@@ -0,0 +1,41 @@
+package com.hungersaviour.restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reviews",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"restaurant_id", "user_id"}),
+        indexes = @Index(name = "idx_reviews_restaurant_id_id", columnList = "restaurant_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Review {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer rating; // 1-5
+
+    @Column(length = 2000)
+    private String comment;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
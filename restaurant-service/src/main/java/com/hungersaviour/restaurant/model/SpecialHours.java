@@ -0,0 +1,29 @@
+package com.hungersaviour.restaurant.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Overrides the weekly opening hours for one date (holidays, events). All entries for a date
+ * replace that date's regular hours; an entry with closed=true closes the restaurant all day.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecialHours {
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Boolean closed = false;
+
+    private LocalTime opensAt;
+    private LocalTime closesAt; // at or before opensAt means open until midnight
+}
@@ -10,4 +10,5 @@ import java.util.List;
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByRestaurantId(Long restaurantId);
     List<MenuItem> findByRestaurantIdAndIsAvailableTrue(Long restaurantId);
+    List<MenuItem> findByIsAvailableTrue();
 }
@@ -1,14 +1,41 @@
 package com.hungersaviour.restaurant.repository;
 
+import com.hungersaviour.restaurant.dto.MenuVersion;
 import com.hungersaviour.restaurant.model.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     List<Restaurant> findByOwnerId(Long ownerId);
     List<Restaurant> findByIsActiveTrue();
     List<Restaurant> findByCuisineContainingIgnoreCase(String cuisine);
+
+    @Query("SELECT new com.hungersaviour.restaurant.dto.MenuVersion(r.id, COALESCE(r.menuVersion, 0L), " +
+           "COALESCE(r.menuUpdatedAt, r.createdAt)) FROM Restaurant r WHERE r.id = :id")
+    Optional<MenuVersion> findMenuVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.menuVersion = COALESCE(r.menuVersion, 0L) + 1, r.menuUpdatedAt = :now " +
+           "WHERE r.id = :id")
+    int incrementMenuVersion(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Single-statement update so concurrent reviews never lose an increment
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Restaurant r SET r.reviewCount = COALESCE(r.reviewCount, 0L) + 1, " +
+           "r.ratingSum = COALESCE(r.ratingSum, 0L) + :rating, " +
+           "r.rating1Count = COALESCE(r.rating1Count, 0L) + CASE WHEN :rating = 1 THEN 1L ELSE 0L END, " +
+           "r.rating2Count = COALESCE(r.rating2Count, 0L) + CASE WHEN :rating = 2 THEN 1L ELSE 0L END, " +
+           "r.rating3Count = COALESCE(r.rating3Count, 0L) + CASE WHEN :rating = 3 THEN 1L ELSE 0L END, " +
+           "r.rating4Count = COALESCE(r.rating4Count, 0L) + CASE WHEN :rating = 4 THEN 1L ELSE 0L END, " +
+           "r.rating5Count = COALESCE(r.rating5Count, 0L) + CASE WHEN :rating = 5 THEN 1L ELSE 0L END " +
+           "WHERE r.id = :id")
+    int addRating(@Param("id") Long id, @Param("rating") long rating);
 }
@@ -0,0 +1,17 @@
+package com.hungersaviour.restaurant.repository;
+
+import com.hungersaviour.restaurant.model.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    boolean existsByRestaurantIdAndUserId(Long restaurantId, Long userId);
+
+    // Keyset pagination, newest first: pass the last id of the previous page as the cursor
+    List<Review> findByRestaurantIdOrderByIdDesc(Long restaurantId, Pageable pageable);
+    List<Review> findByRestaurantIdAndIdLessThanOrderByIdDesc(Long restaurantId, Long id, Pageable pageable);
+}
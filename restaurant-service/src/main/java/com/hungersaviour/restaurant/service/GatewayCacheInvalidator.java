@@ -0,0 +1,44 @@
+package com.hungersaviour.restaurant.service;
+
+import com.hungersaviour.restaurant.config.RedisConfig;
+import com.hungersaviour.restaurant.dto.CatalogueChange;
+import com.hungersaviour.restaurant.dto.MenuDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tells the API gateways to drop cached responses for a restaurant after it or its menu has
+ * changed. Sent after commit, like menu deltas, so a gateway refilling its cache reads the new
+ * state.
+ */
+@Component
+@Slf4j
+public class GatewayCacheInvalidator {
+
+    private static final String RESOURCE = "restaurants";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChange(CatalogueChange change) {
+        invalidate(change.getRestaurantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuDelta(MenuDelta delta) {
+        invalidate(delta.getRestaurantId());
+    }
+
+    private void invalidate(Long restaurantId) {
+        try {
+            redisTemplate.convertAndSend(RedisConfig.GATEWAY_CACHE_CHANNEL, RESOURCE + ":" + restaurantId);
+        } catch (Exception e) {
+            // gateway entries still expire with their TTL
+            log.warn("Failed to invalidate gateway cache for restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hungersaviour.restaurant.service;
+
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts restaurant and menu reads locally and periodically folds them into a shared Redis
+ * sorted set, so a freshly started instance knows which restaurants to warm up first.
+ */
+@Service
+@Slf4j
+public class HotRestaurantTracker {
+
+    static final String HOT_RESTAURANTS_KEY = "restaurants:hot";
+    private static final int MAX_TRACKED = 10000;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private final Map<Long, LongAdder> hits = new ConcurrentHashMap<>();
+
+    public void recordHit(Long restaurantId) {
+        hits.computeIfAbsent(restaurantId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${warmup.hot-flush-ms:60000}")
+    public void flush() {
+        if (hits.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> pending = new HashMap<>();
+        for (Long restaurantId : new ArrayList<>(hits.keySet())) {
+            LongAdder counter = hits.remove(restaurantId);
+            if (counter != null) {
+                pending.put(restaurantId, counter.sum());
+            }
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                pending.forEach((id, count) -> redis.zIncrBy(HOT_RESTAURANTS_KEY, count, String.valueOf(id)));
+                redis.zRemRange(HOT_RESTAURANTS_KEY, 0, -MAX_TRACKED - 1);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to flush restaurant hit counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Most-requested restaurant IDs across all instances, falling back to active restaurants
+     * when no traffic has been recorded yet or Redis is unavailable.
+     */
+    public List<Long> hottest(int limit) {
+        try {
+            Set<String> ids = redisTemplate.opsForZSet().reverseRange(HOT_RESTAURANTS_KEY, 0, limit - 1);
+            if (ids != null && !ids.isEmpty()) {
+                return ids.stream().map(Long::valueOf).toList();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read hot restaurants: {}", e.getMessage());
+        }
+        return restaurantRepository.findByIsActiveTrue().stream()
+                .map(Restaurant::getId)
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,357 @@
+package com.hungersaviour.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hungersaviour.restaurant.dto.MenuDelta;
+import com.hungersaviour.restaurant.dto.MenuImportReport;
+import com.hungersaviour.restaurant.dto.MenuImportRow;
+import com.hungersaviour.restaurant.dto.MenuVersion;
+import com.hungersaviour.restaurant.exception.InvalidRequestException;
+import com.hungersaviour.restaurant.exception.ResourceNotFoundException;
+import com.hungersaviour.restaurant.repository.MenuItemRepository;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Streams a CSV or JSON-array menu upload row by row and upserts it with JDBC batches.
+ * Rows match existing items by id or (case-insensitive) name; everything else is inserted.
+ * Caches, the menu version and the search index are refreshed once, after the last batch.
+ */
+@Service
+@Slf4j
+public class MenuImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // column limits of menu_items: varchar(255) text and numeric(38,2) prices
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 255;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 36;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_items (name, description, price, category, is_available, restaurant_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE menu_items SET name = ?, description = ?, price = ?, category = ?, is_available = ?, updated_at = ? " +
+            "WHERE id = ? AND restaurant_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${menu.import.batch-size:500}")
+    private int batchSize;
+
+    @Transactional
+    public MenuImportReport importMenu(Long restaurantId, InputStream body, String contentType) throws IOException {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant not found");
+        }
+
+        ImportBatch batch = new ImportBatch(restaurantId);
+        menuItemRepository.findByRestaurantId(restaurantId).forEach(item -> {
+            batch.existingIds.add(item.getId());
+            batch.idsByName.put(normalizeName(item.getName()), item.getId());
+        });
+
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (isCsv(contentType)) {
+            readCsv(reader, batch);
+        } else {
+            readJson(reader, batch);
+        }
+        batch.flush();
+
+        MenuImportReport report = batch.report;
+        if (report.getInserted() + report.getUpdated() > 0) {
+            MenuVersion version = menuVersionService.bump(restaurantId);
+            report.setMenuVersion(version.getVersion());
+            // One reload event instead of a delta per row; clients refetch the menu
+            eventPublisher.publishEvent(new MenuDelta(restaurantId, version.getVersion(), MenuDelta.MENU_RELOADED,
+                    null, null, null, null, LocalDateTime.now()));
+        }
+        log.info("Menu import for restaurant {}: {} rows, {} inserted, {} updated, {} failed", restaurantId,
+                report.getTotalRows(), report.getInserted(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    private boolean isCsv(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return "csv".equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    private void readJson(Reader reader, ImportBatch batch) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidRequestException("Expected a JSON array of menu items");
+            }
+            int rowNumber = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new InvalidRequestException("Unexpected end of JSON input");
+                }
+                rowNumber++;
+                // Read each element as a tree first so a bad field only fails its own row
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    batch.add(rowNumber, objectMapper.treeToValue(node, MenuImportRow.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(rowNumber, "Malformed row: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readCsv(Reader reader, ImportBatch batch) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new InvalidRequestException("CSV body is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new InvalidRequestException("CSV header must contain at least 'name' and 'price' columns");
+        }
+
+        int rowNumber = 0;
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            rowNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                MenuImportRow row = new MenuImportRow();
+                String id = column(record, columns, "id");
+                row.setId(id == null ? null : Long.valueOf(id));
+                row.setName(column(record, columns, "name"));
+                row.setDescription(column(record, columns, "description"));
+                String price = column(record, columns, "price");
+                row.setPrice(price == null ? null : new BigDecimal(price));
+                row.setCategory(column(record, columns, "category"));
+                String available = column(record, columns, "isavailable");
+                row.setIsAvailable(available == null ? null : Boolean.valueOf(available));
+                batch.add(rowNumber, row);
+            } catch (NumberFormatException e) {
+                batch.reject(rowNumber, "Malformed number: " + e.getMessage());
+            }
+        }
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private class ImportBatch {
+        private final Long restaurantId;
+        private final Set<Long> existingIds = new HashSet<>();
+        private final Map<String, Long> idsByName = new HashMap<>();
+        private final Set<String> importedNames = new HashSet<>();
+        private final List<Object[]> inserts = new ArrayList<>();
+        private final List<Object[]> updates = new ArrayList<>();
+        private final MenuImportReport report = new MenuImportReport();
+
+        ImportBatch(Long restaurantId) {
+            this.restaurantId = restaurantId;
+            report.setRestaurantId(restaurantId);
+        }
+
+        void add(int rowNumber, MenuImportRow row) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            String error = validate(row);
+            if (error != null) {
+                recordError(rowNumber, error);
+                return;
+            }
+
+            String name = normalizeName(row.getName());
+            if (!importedNames.add(name)) {
+                recordError(rowNumber, "Duplicate item name in import: " + row.getName());
+                return;
+            }
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            boolean available = row.getIsAvailable() == null || row.getIsAvailable();
+            Long id = row.getId() != null ? row.getId() : idsByName.get(name);
+            if (id != null) {
+                updates.add(new Object[]{row.getName().trim(), row.getDescription(), row.getPrice(),
+                        row.getCategory(), available, now, id, restaurantId});
+                report.setUpdated(report.getUpdated() + 1);
+            } else {
+                inserts.add(new Object[]{row.getName().trim(), row.getDescription(), row.getPrice(),
+                        row.getCategory(), available, restaurantId, now, now});
+                report.setInserted(report.getInserted() + 1);
+            }
+            if (inserts.size() + updates.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int rowNumber, String message) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            recordError(rowNumber, message);
+        }
+
+        void flush() {
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                inserts.clear();
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                updates.clear();
+            }
+        }
+
+        private String validate(MenuImportRow row) {
+            if (row.getName() == null || row.getName().isBlank()) {
+                return "Name is required";
+            }
+            if (row.getName().length() > MAX_NAME_LENGTH) {
+                return "Name must be at most " + MAX_NAME_LENGTH + " characters";
+            }
+            if (row.getDescription() != null && row.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+                return "Description must be at most " + MAX_DESCRIPTION_LENGTH + " characters";
+            }
+            if (row.getCategory() != null && row.getCategory().length() > MAX_CATEGORY_LENGTH) {
+                return "Category must be at most " + MAX_CATEGORY_LENGTH + " characters";
+            }
+            // PostgreSQL text cannot hold NUL; one such row would fail the whole batch
+            if (containsNul(row.getName()) || containsNul(row.getDescription()) || containsNul(row.getCategory())) {
+                return "Text fields must not contain NUL characters";
+            }
+            if (row.getPrice() == null) {
+                return "Price is required";
+            }
+            if (row.getPrice().signum() < 0) {
+                return "Price must not be negative";
+            }
+            if (row.getPrice().precision() - row.getPrice().scale() > MAX_PRICE_INTEGER_DIGITS) {
+                return "Price is too large";
+            }
+            if (row.getId() != null && !existingIds.contains(row.getId())) {
+                return "Menu item " + row.getId() + " does not belong to this restaurant";
+            }
+            return null;
+        }
+
+        private boolean containsNul(String value) {
+            return value != null && value.indexOf('\0') >= 0;
+        }
+
+        private void recordError(int rowNumber, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new MenuImportReport.RowError(rowNumber, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas,
+     * line breaks and doubled quotes.
+     */
+    private static class CsvRecordReader {
+        private final Reader reader;
+        private boolean eof;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean sawAnything = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                sawAnything = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (following != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+            }
+            eof = true;
+            if (!sawAnything) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
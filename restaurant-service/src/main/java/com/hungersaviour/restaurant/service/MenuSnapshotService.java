@@ -0,0 +1,72 @@
+package com.hungersaviour.restaurant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hungersaviour.restaurant.dto.MenuSnapshot;
+import com.hungersaviour.restaurant.dto.MenuVersion;
+import com.hungersaviour.restaurant.model.MenuItem;
+import com.hungersaviour.restaurant.repository.MenuItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+public class MenuSnapshotService {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Long, MenuSnapshot> snapshots;
+
+    public MenuSnapshotService(@Value("${menu.snapshot.max-entries:10000}") int maxEntries) {
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MenuSnapshot> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the snapshot for the given menu version, building it only if the cached one
+     * is older. Version bumps are the only invalidation: there is nothing to evict.
+     */
+    public MenuSnapshot getSnapshot(MenuVersion version) {
+        MenuSnapshot current = snapshots.get(version.getRestaurantId());
+        if (current != null && current.getVersion() >= version.getVersion()) {
+            return current;
+        }
+        MenuSnapshot built = build(version);
+        return snapshots.merge(version.getRestaurantId(), built,
+                (existing, candidate) -> existing.getVersion() >= candidate.getVersion() ? existing : candidate);
+    }
+
+    private MenuSnapshot build(MenuVersion version) {
+        try {
+            List<MenuItem> items = List.copyOf(menuItemRepository.findByRestaurantIdAndIsAvailableTrue(version.getRestaurantId()));
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            log.debug("Built menu snapshot for restaurant {} version {} ({} bytes, {} gzipped)",
+                    version.getRestaurantId(), version.getVersion(), json.length, compressed.size());
+            return new MenuSnapshot(version.getRestaurantId(), version.getVersion(), items, json, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build menu snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hungersaviour.restaurant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hungersaviour.restaurant.config.RedisConfig;
+import com.hungersaviour.restaurant.dto.MenuDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes menu deltas to clients over Server-Sent Events. Deltas are fanned out through Redis
+ * pub/sub so every instance sees every change, and each instance keeps the most recent deltas
+ * per restaurant so a reconnecting client can resume from its Last-Event-ID.
+ */
+@Service
+@Slf4j
+public class MenuStreamService implements MessageListener {
+
+    private static final String DELTA_EVENT = "menu-delta";
+    private static final String RESET_EVENT = "menu-reset";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
+    @Value("${menu.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${menu.stream.replay-buffer-size:256}")
+    private int replayBufferSize;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableMap<Long, MenuDelta>> recentDeltas = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long restaurantId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        List<SseEmitter> subscribers = emitters.computeIfAbsent(restaurantId, id -> new CopyOnWriteArrayList<>());
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+
+        if (lastEventId != null) {
+            replay(emitter, restaurantId, lastEventId);
+        }
+        return emitter;
+    }
+
+    /**
+     * Broadcasts a delta once the transaction that produced it has committed, so clients
+     * that refetch in response never read the menu from before the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(MenuDelta delta) {
+        try {
+            redisTemplate.convertAndSend(RedisConfig.MENU_DELTA_CHANNEL, objectMapper.writeValueAsString(delta));
+        } catch (Exception e) {
+            log.error("Failed to publish menu delta for restaurant {}: {}", delta.getRestaurantId(), e.getMessage());
+            // Still serve the clients connected to this instance
+            deliver(delta);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            deliver(objectMapper.readValue(message.getBody(), MenuDelta.class));
+        } catch (IOException e) {
+            log.error("Discarding malformed menu delta: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${menu.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        emitters.forEach((restaurantId, subscribers) -> {
+            for (SseEmitter emitter : subscribers) {
+                send(emitter, subscribers, SseEmitter.event().comment("keep-alive"));
+            }
+        });
+    }
+
+    private void deliver(MenuDelta delta) {
+        NavigableMap<Long, MenuDelta> buffer =
+                recentDeltas.computeIfAbsent(delta.getRestaurantId(), id -> new ConcurrentSkipListMap<>());
+        buffer.put(delta.getSequence(), delta);
+        while (buffer.size() > replayBufferSize) {
+            buffer.pollFirstEntry();
+        }
+
+        List<SseEmitter> subscribers = emitters.get(delta.getRestaurantId());
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, subscribers, deltaEvent(delta));
+        }
+    }
+
+    /**
+     * Catches a reconnecting client up to the current menu version. If the local buffer cannot
+     * cover the gap, because deltas were evicted or this instance restarted or missed them, the
+     * client is told to refetch the full menu instead.
+     */
+    private void replay(SseEmitter emitter, Long restaurantId, Long lastEventId) {
+        List<SseEmitter> subscribers = emitters.get(restaurantId);
+        Long current = menuVersionService.getMenuVersion(restaurantId).getVersion();
+        if (current == null || lastEventId >= current) {
+            return;
+        }
+        NavigableMap<Long, MenuDelta> buffer = recentDeltas.get(restaurantId);
+        boolean replayable = buffer != null && !buffer.isEmpty()
+                && buffer.firstKey() <= lastEventId + 1 && buffer.lastKey() >= current;
+        if (!replayable) {
+            send(emitter, subscribers, SseEmitter.event().name(RESET_EVENT).id(String.valueOf(current)).data(current));
+            return;
+        }
+        for (MenuDelta delta : buffer.tailMap(lastEventId, false).values()) {
+            send(emitter, subscribers, deltaEvent(delta));
+        }
+    }
+
+    private SseEmitter.SseEventBuilder deltaEvent(MenuDelta delta) {
+        return SseEmitter.event().name(DELTA_EVENT).id(String.valueOf(delta.getSequence())).data(delta);
+    }
+
+    private void send(SseEmitter emitter, List<SseEmitter> subscribers, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.hungersaviour.restaurant.service;
+
+import com.hungersaviour.restaurant.dto.MenuVersion;
+import com.hungersaviour.restaurant.exception.ResourceNotFoundException;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+public class MenuVersionService {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    public MenuVersion getMenuVersion(Long restaurantId) {
+        return restaurantRepository.findMenuVersion(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+    }
+
+    /**
+     * Increments the restaurant's menu version. The UPDATE holds the row lock until commit,
+     * so the version read back in the same transaction is the one this change produced.
+     */
+    @Transactional
+    public MenuVersion bump(Long restaurantId) {
+        restaurantRepository.incrementMenuVersion(restaurantId, LocalDateTime.now());
+        return getMenuVersion(restaurantId);
+    }
+}
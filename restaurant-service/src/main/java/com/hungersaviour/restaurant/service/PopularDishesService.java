@@ -0,0 +1,54 @@
+package com.hungersaviour.restaurant.service;
+
+import com.hungersaviour.restaurant.dto.OrderStatusEvent;
+import com.hungersaviour.restaurant.index.PopularitySketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-restaurant "popular right now" rankings fed by confirmed order events.
+ * Each restaurant holds one fixed-size {@link PopularitySketch}, so memory does not grow
+ * with order volume or menu size. Counts are per instance and start empty after a restart.
+ */
+@Service
+public class PopularDishesService {
+
+    @Value("${popular-dishes.top-k:20}")
+    private int topK;
+
+    @Value("${popular-dishes.sketch-width:256}")
+    private int sketchWidth;
+
+    @Value("${popular-dishes.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${popular-dishes.half-life-hours:72}")
+    private long halfLifeHours;
+
+    private final Map<Long, PopularitySketch> sketches = new ConcurrentHashMap<>();
+
+    public void record(OrderStatusEvent event) {
+        long now = System.currentTimeMillis();
+        PopularitySketch sketch = sketches.computeIfAbsent(event.getRestaurantId(), id ->
+                new PopularitySketch(sketchWidth, sketchDepth, topK, Duration.ofHours(halfLifeHours).toMillis(), now));
+        for (OrderStatusEvent.Item item : event.getItems()) {
+            if (item.getMenuItemId() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                sketch.add(item.getMenuItemId(), item.getQuantity(), now);
+            }
+        }
+    }
+
+    /**
+     * Menu item ids with their decayed scores, most popular first.
+     */
+    public List<Map.Entry<Long, Double>> ranking(Long restaurantId) {
+        PopularitySketch sketch = sketches.get(restaurantId);
+        return sketch == null ? Collections.emptyList() : sketch.top(System.currentTimeMillis());
+    }
+}
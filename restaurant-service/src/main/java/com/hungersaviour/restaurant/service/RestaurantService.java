@@ -1,29 +1,97 @@
 package com.hungersaviour.restaurant.service;
 
+import com.hungersaviour.restaurant.dto.CatalogueChange;
+import com.hungersaviour.restaurant.dto.MenuDelta;
+import com.hungersaviour.restaurant.dto.MenuImportReport;
+import com.hungersaviour.restaurant.dto.MenuSnapshot;
+import com.hungersaviour.restaurant.dto.MenuVersion;
+import com.hungersaviour.restaurant.dto.PopularDish;
+import com.hungersaviour.restaurant.dto.RestaurantSummary;
+import com.hungersaviour.restaurant.dto.ReviewPage;
+import com.hungersaviour.restaurant.dto.SearchResult;
+import com.hungersaviour.restaurant.dto.StockReservationRequest;
+import com.hungersaviour.restaurant.exception.InvalidRequestException;
 import com.hungersaviour.restaurant.exception.ResourceNotFoundException;
+import com.hungersaviour.restaurant.index.GeoIndex;
+import com.hungersaviour.restaurant.index.RestaurantBitmapIndex;
+import com.hungersaviour.restaurant.index.SearchIndex;
 import com.hungersaviour.restaurant.model.MenuItem;
+import com.hungersaviour.restaurant.model.OpeningPeriod;
 import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.model.Review;
+import com.hungersaviour.restaurant.model.SpecialHours;
 import com.hungersaviour.restaurant.repository.MenuItemRepository;
 import com.hungersaviour.restaurant.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class RestaurantService {
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private RestaurantBitmapIndex bitmapIndex;
+
+    @Autowired
+    private MenuVersionService menuVersionService;
+
+    @Autowired
+    private MenuStreamService menuStreamService;
+
+    @Autowired
+    private MenuImportService menuImportService;
+
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    @Autowired
+    private PopularDishesService popularDishesService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @CacheEvict(value = "restaurants", allEntries = true)
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        validateHours(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CatalogueChange(saved.getId()));
+        return saved;
     }
 
     @Cacheable(value = "restaurants", key = "#id")
@@ -37,6 +105,24 @@ public class RestaurantService {
         return restaurantRepository.findByIsActiveTrue();
     }
 
+    /**
+     * Narrows a listing to restaurants serving {@code cuisine} and open at {@code openAt};
+     * both filters are optional and resolved against the bitmap index.
+     */
+    public List<Restaurant> filterRestaurants(List<Restaurant> restaurants, String cuisine, LocalDateTime openAt) {
+        if (cuisine == null && openAt == null) {
+            return restaurants;
+        }
+        BitSet selection = bitmapIndex.select(cuisine, openAt);
+        return restaurants.stream()
+                .filter(restaurant -> bitmapIndex.matches(selection, restaurant.getId()))
+                .toList();
+    }
+
+    public LocalDateTime openingHoursNow() {
+        return bitmapIndex.now();
+    }
+
     @Cacheable(value = "restaurants", key = "'owner-' + #ownerId")
     public List<Restaurant> getRestaurantsByOwner(Long ownerId) {
         return restaurantRepository.findByOwnerId(ownerId);
@@ -44,13 +130,22 @@ public class RestaurantService {
 
     @CacheEvict(value = "restaurants", allEntries = true)
     public Restaurant updateRestaurant(Long id, Restaurant restaurant) {
+        validateHours(restaurant);
         Restaurant existing = getRestaurantById(id);
         existing.setName(restaurant.getName());
         existing.setAddress(restaurant.getAddress());
+        existing.setLatitude(restaurant.getLatitude());
+        existing.setLongitude(restaurant.getLongitude());
         existing.setCuisine(restaurant.getCuisine());
         existing.setDescription(restaurant.getDescription());
         existing.setPhoneNumber(restaurant.getPhoneNumber());
-        return restaurantRepository.save(existing);
+        existing.getOpeningHours().clear();
+        existing.getOpeningHours().addAll(restaurant.getOpeningHours());
+        existing.getSpecialHours().clear();
+        existing.getSpecialHours().addAll(restaurant.getSpecialHours());
+        Restaurant saved = restaurantRepository.save(existing);
+        eventPublisher.publishEvent(new CatalogueChange(saved.getId()));
+        return saved;
     }
 
     @CacheEvict(value = "restaurants", allEntries = true)
@@ -58,21 +153,44 @@ public class RestaurantService {
         Restaurant restaurant = getRestaurantById(id);
         restaurant.setIsActive(false);
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new CatalogueChange(id));
+    }
+
+    private void validateHours(Restaurant restaurant) {
+        for (OpeningPeriod period : restaurant.getOpeningHours()) {
+            if (period.getDayOfWeek() == null || period.getOpensAt() == null || period.getClosesAt() == null) {
+                throw new InvalidRequestException("Opening hours need dayOfWeek, opensAt and closesAt");
+            }
+        }
+        for (SpecialHours special : restaurant.getSpecialHours()) {
+            if (special.getDate() == null) {
+                throw new InvalidRequestException("Special hours need a date");
+            }
+            if (!Boolean.TRUE.equals(special.getClosed()) && (special.getOpensAt() == null || special.getClosesAt() == null)) {
+                throw new InvalidRequestException("Special hours need opensAt and closesAt unless closed");
+            }
+        }
     }
 
-    @CacheEvict(value = "menuItems", allEntries = true)
+    @Transactional
     public MenuItem addMenuItem(Long restaurantId, MenuItem menuItem) {
         Restaurant restaurant = getRestaurantById(restaurantId);
         menuItem.setRestaurant(restaurant);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        MenuVersion version = menuVersionService.bump(restaurantId);
+        publishDelta(version, MenuDelta.ITEM_ADDED, saved);
+        return saved;
     }
 
-    @Cacheable(value = "menuItems", key = "#restaurantId")
-    public List<MenuItem> getMenuItems(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId);
+    public MenuVersion getMenuVersion(Long restaurantId) {
+        return menuVersionService.getMenuVersion(restaurantId);
     }
 
-    @CacheEvict(value = "menuItems", allEntries = true)
+    public MenuSnapshot getMenuSnapshot(MenuVersion version) {
+        return menuSnapshotService.getSnapshot(version);
+    }
+
+    @Transactional
     public MenuItem updateMenuItem(Long id, MenuItem menuItem) {
         MenuItem existing = menuItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
@@ -81,14 +199,92 @@ public class RestaurantService {
         existing.setPrice(menuItem.getPrice());
         existing.setCategory(menuItem.getCategory());
         existing.setIsAvailable(menuItem.getIsAvailable());
-        return menuItemRepository.save(existing);
+        existing.setDailyStock(menuItem.getDailyStock());
+        MenuItem saved = menuItemRepository.save(existing);
+        MenuVersion version = menuVersionService.bump(saved.getRestaurant().getId());
+        publishDelta(version, MenuDelta.ITEM_UPDATED, saved);
+        return saved;
     }
 
-    @CacheEvict(value = "menuItems", allEntries = true)
+    @Transactional
     public void deleteMenuItem(Long id) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
         menuItem.setIsAvailable(false);
         menuItemRepository.save(menuItem);
+        MenuVersion version = menuVersionService.bump(menuItem.getRestaurant().getId());
+        publishDelta(version, MenuDelta.ITEM_REMOVED, menuItem);
+    }
+
+    // reads the in-memory menu snapshot; the version lookup doubles as the existence check
+    public List<PopularDish> getPopularDishes(Long restaurantId, int limit) {
+        MenuSnapshot menu = menuSnapshotService.getSnapshot(menuVersionService.getMenuVersion(restaurantId));
+        Map<Long, MenuItem> available = menu.getItems().stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        List<PopularDish> dishes = new ArrayList<>();
+        for (Map.Entry<Long, Double> entry : popularDishesService.ranking(restaurantId)) {
+            if (dishes.size() >= limit) {
+                break;
+            }
+            // items removed or made unavailable since they were ordered drop out of the list
+            MenuItem item = available.get(entry.getKey());
+            if (item != null) {
+                dishes.add(new PopularDish(item.getId(), item.getName(), item.getPrice(), entry.getValue()));
+            }
+        }
+        return dishes;
+    }
+
+    public void reserveStock(Long restaurantId, StockReservationRequest request) {
+        stockService.reserve(restaurantId, request);
+    }
+
+    public void releaseStock(Long restaurantId, Long orderId) {
+        stockService.release(restaurantId, orderId);
+    }
+
+    public Review addReview(Long restaurantId, Long userId, Review review) {
+        return reviewService.addReview(restaurantId, userId, review);
+    }
+
+    public ReviewPage getReviews(Long restaurantId, Long before, int size) {
+        return reviewService.getReviews(restaurantId, before, size);
+    }
+
+    public MenuImportReport importMenu(Long restaurantId, InputStream body, String contentType) throws IOException {
+        return menuImportService.importMenu(restaurantId, body, contentType);
+    }
+
+    public SseEmitter streamMenuDeltas(Long restaurantId, Long lastEventId) {
+        getRestaurantById(restaurantId);
+        return menuStreamService.subscribe(restaurantId, lastEventId);
+    }
+
+    private void publishDelta(MenuVersion version, String type, MenuItem menuItem) {
+        eventPublisher.publishEvent(new MenuDelta(version.getRestaurantId(), version.getVersion(), type,
+                menuItem.getId(), menuItem.getName(), menuItem.getPrice(), menuItem.getIsAvailable(),
+                LocalDateTime.now()));
+    }
+
+    public List<SearchResult> search(String query, int limit) {
+        return searchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    public List<RestaurantSummary> findNearby(double latitude, double longitude, double radiusKm, int page, int size,
+                                              String cuisine, LocalDateTime openAt) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new InvalidRequestException("Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new InvalidRequestException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Invalid page request");
+        }
+        if (cuisine == null && openAt == null) {
+            return geoIndex.nearby(latitude, longitude, radiusKm, page, size, id -> true);
+        }
+        BitSet selection = bitmapIndex.select(cuisine, openAt);
+        return geoIndex.nearby(latitude, longitude, radiusKm, page, size, id -> bitmapIndex.matches(selection, id));
     }
 }
@@ -0,0 +1,94 @@
+package com.hungersaviour.restaurant.service;
+
+import com.hungersaviour.restaurant.dto.CatalogueChange;
+import com.hungersaviour.restaurant.dto.ReviewPage;
+import com.hungersaviour.restaurant.exception.ConflictException;
+import com.hungersaviour.restaurant.exception.InvalidRequestException;
+import com.hungersaviour.restaurant.exception.ResourceNotFoundException;
+import com.hungersaviour.restaurant.index.GeoIndex;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.model.Review;
+import com.hungersaviour.restaurant.repository.RestaurantRepository;
+import com.hungersaviour.restaurant.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Stores reviews and keeps the rating aggregates on {@link Restaurant} (count, sum and
+ * per-star histogram) in step, so listings read precomputed numbers instead of aggregating.
+ */
+@Service
+public class ReviewService {
+
+    private static final int MAX_COMMENT_LENGTH = 2000;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    @CacheEvict(value = "restaurants", allEntries = true)
+    public Review addReview(Long restaurantId, Long userId, Review review) {
+        if (review.getRating() == null || review.getRating() < 1 || review.getRating() > 5) {
+            throw new InvalidRequestException("Rating must be between 1 and 5");
+        }
+        if (review.getComment() != null && review.getComment().length() > MAX_COMMENT_LENGTH) {
+            throw new InvalidRequestException("Comment must be at most " + MAX_COMMENT_LENGTH + " characters");
+        }
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .filter(r -> Boolean.TRUE.equals(r.getIsActive()))
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        if (reviewRepository.existsByRestaurantIdAndUserId(restaurant.getId(), userId)) {
+            throw new ConflictException("User has already reviewed this restaurant");
+        }
+
+        review.setId(null);
+        review.setRestaurantId(restaurantId);
+        review.setUserId(userId);
+        Review saved;
+        try {
+            saved = reviewRepository.save(review);
+            reviewRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent review by the same user won the unique constraint
+            throw new ConflictException("User has already reviewed this restaurant");
+        }
+        restaurantRepository.addRating(restaurantId, saved.getRating());
+
+        // nearby results carry the rating, so refresh the restaurant's geo entry
+        restaurantRepository.findById(restaurantId).ifPresent(geoIndex::index);
+        eventPublisher.publishEvent(new CatalogueChange(restaurantId));
+        return saved;
+    }
+
+    public ReviewPage getReviews(Long restaurantId, Long before, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant not found");
+        }
+        PageRequest limit = PageRequest.of(0, size);
+        List<Review> reviews = before == null
+                ? reviewRepository.findByRestaurantIdOrderByIdDesc(restaurantId, limit)
+                : reviewRepository.findByRestaurantIdAndIdLessThanOrderByIdDesc(restaurantId, before, limit);
+        Long nextCursor = reviews.size() == size ? reviews.get(reviews.size() - 1).getId() : null;
+        return new ReviewPage(reviews, nextCursor);
+    }
+}
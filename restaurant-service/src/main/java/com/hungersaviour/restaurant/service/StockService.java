@@ -0,0 +1,135 @@
+package com.hungersaviour.restaurant.service;
+
+import com.hungersaviour.restaurant.dto.StockReservationRequest;
+import com.hungersaviour.restaurant.exception.InsufficientStockException;
+import com.hungersaviour.restaurant.exception.InvalidRequestException;
+import com.hungersaviour.restaurant.model.MenuItem;
+import com.hungersaviour.restaurant.repository.MenuItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-day stock for menu items with a {@code dailyStock} limit. Reserved quantities are
+ * counters in Redis, checked and incremented by one Lua script per order, so concurrent
+ * checkouts for the same item never take a lock on menu_items. Each order's reservation is
+ * recorded in a hash, which makes reserve retries and releases idempotent.
+ */
+@Service
+@Slf4j
+public class StockService {
+
+    private static final String COUNTER_PREFIX = "stock:reserved:";
+    private static final String RESERVATION_PREFIX = "stock:reservation:";
+    private static final Duration KEY_TTL = Duration.ofDays(2);
+
+    // KEYS[1] = reservation hash, KEYS[2..n] = counters; ARGV[1] = ttl, then (limit, quantity) per counter.
+    // Returns 0 when reserved (or already reserved), otherwise the 1-based position of the first short item.
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "for i = 2, #KEYS do " +
+            "  local reserved = tonumber(redis.call('GET', KEYS[i]) or '0') " +
+            "  if reserved + tonumber(ARGV[2 * i - 1]) > tonumber(ARGV[2 * i - 2]) then return i - 1 end " +
+            "end " +
+            "for i = 2, #KEYS do " +
+            "  redis.call('INCRBY', KEYS[i], ARGV[2 * i - 1]) " +
+            "  redis.call('EXPIRE', KEYS[i], ARGV[1]) " +
+            "  redis.call('HSET', KEYS[1], KEYS[i], ARGV[2 * i - 1]) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 0", Long.class);
+
+    // KEYS[1] = reservation hash; gives every recorded quantity back to its counter and forgets the reservation
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local entries = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #entries, 2 do " +
+            "  if redis.call('DECRBY', entries[i], entries[i + 1]) < 0 then " +
+            "    redis.call('SET', entries[i], 0, 'KEEPTTL') " +
+            "  end " +
+            "end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return #entries / 2", Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Value("${opening-hours.zone:}")
+    private String zone;
+
+    public void reserve(Long restaurantId, StockReservationRequest request) {
+        if (request.getOrderId() == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new InvalidRequestException("Order id and items are required");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (StockReservationRequest.Item item : request.getItems()) {
+            if (item.getMenuItemId() == null || item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new InvalidRequestException("Each item needs a menu item id and a positive quantity");
+            }
+            quantities.merge(item.getMenuItemId(), item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, MenuItem> menuItems = menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        LocalDate today = today();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        List<MenuItem> limited = new ArrayList<>();
+        keys.add(reservationKey(restaurantId, request.getOrderId()));
+        args.add(String.valueOf(KEY_TTL.toSeconds()));
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            MenuItem menuItem = menuItems.get(entry.getKey());
+            if (menuItem == null) {
+                throw new InsufficientStockException("Menu item " + entry.getKey() + " is not available");
+            }
+            if (menuItem.getDailyStock() == null) {
+                continue;
+            }
+            keys.add(counterKey(menuItem.getId(), today));
+            args.add(String.valueOf(menuItem.getDailyStock()));
+            args.add(String.valueOf(entry.getValue()));
+            limited.add(menuItem);
+        }
+        if (limited.isEmpty()) {
+            return;
+        }
+
+        Long shortItem = redisTemplate.execute(RESERVE_SCRIPT, keys, args.toArray());
+        if (shortItem != null && shortItem > 0) {
+            MenuItem menuItem = limited.get(shortItem.intValue() - 1);
+            throw new InsufficientStockException("Not enough stock left today for " + menuItem.getName());
+        }
+        log.debug("Reserved stock of {} limited items for order {}", limited.size(), request.getOrderId());
+    }
+
+    public void release(Long restaurantId, Long orderId) {
+        Long released = redisTemplate.execute(RELEASE_SCRIPT,
+                Collections.singletonList(reservationKey(restaurantId, orderId)));
+        log.debug("Released stock of {} items for order {}", released, orderId);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+    }
+
+    private static String counterKey(Long menuItemId, LocalDate date) {
+        return COUNTER_PREFIX + menuItemId + ":" + date;
+    }
+
+    private static String reservationKey(Long restaurantId, Long orderId) {
+        return RESERVATION_PREFIX + restaurantId + ":" + orderId;
+    }
+}
@@ -0,0 +1,32 @@
+package com.hungersaviour.restaurant.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mirrors the readiness state into Eureka. The instance registers as STARTING
+ * (eureka.instance.initial-status) and is only marked UP once Spring Boot reports it ready to
+ * accept traffic, i.e. after {@link WarmupRunner} has finished.
+ */
+@Component
+@Slf4j
+public class EurekaStatusUpdater {
+
+    @Autowired
+    private ApplicationInfoManager applicationInfoManager;
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        InstanceStatus status = event.getState() == ReadinessState.ACCEPTING_TRAFFIC
+                ? InstanceStatus.UP
+                : InstanceStatus.OUT_OF_SERVICE;
+        log.info("Readiness changed to {}, reporting {} to Eureka", event.getState(), status);
+        applicationInfoManager.setInstanceStatus(status);
+    }
+}
@@ -0,0 +1,42 @@
+package com.hungersaviour.restaurant.warmup;
+
+import com.hungersaviour.restaurant.service.HotRestaurantTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Records reads of a single restaurant or its menu for {@link HotRestaurantTracker}.
+ * Synthetic warm-up requests are skipped so they don't reinforce their own ranking.
+ */
+@Component
+public class HotRestaurantInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private HotRestaurantTracker hotRestaurantTracker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) || request.getHeader(WarmupRunner.WARMUP_HEADER) != null) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if ("/api/restaurants/{id}".equals(pattern) || "/api/restaurants/{restaurantId}/menu".equals(pattern)) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> variables =
+                    (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            String id = variables.containsKey("id") ? variables.get("id") : variables.get("restaurantId");
+            try {
+                hotRestaurantTracker.recordHit(Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                // Not a restaurant ID; the controller will reject the request
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,135 @@
+package com.hungersaviour.restaurant.warmup;
+
+import com.hungersaviour.restaurant.dto.MenuVersion;
+import com.hungersaviour.restaurant.model.Restaurant;
+import com.hungersaviour.restaurant.service.HotRestaurantTracker;
+import com.hungersaviour.restaurant.service.RestaurantService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms caches, menu snapshots and the JIT before the instance takes traffic.
+ * Spring Boot runs application runners before it publishes ReadinessState.ACCEPTING_TRAFFIC,
+ * so the readiness probe and (via {@link EurekaStatusUpdater}) Eureka only report the
+ * instance as UP once this has returned.
+ */
+@Component
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    static final String WARMUP_HEADER = "X-Warmup";
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private HotRestaurantTracker hotRestaurantTracker;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.hot-restaurants:100}")
+    private int hotRestaurants;
+
+    @Value("${warmup.synthetic-requests:500}")
+    private int syntheticRequests;
+
+    @Value("${warmup.max-duration-ms:60000}")
+    private long maxDurationMs;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long deadline = start + maxDurationMs;
+
+        List<Restaurant> restaurants = preload(deadline);
+        int requests = restaurants.isEmpty() ? 0 : replayTraffic(restaurants, deadline);
+
+        log.info("Warm-up finished in {} ms: {} restaurants preloaded, {} synthetic requests",
+                System.currentTimeMillis() - start, restaurants.size(), requests);
+    }
+
+    private List<Restaurant> preload(long deadline) {
+        List<Restaurant> preloaded = new ArrayList<>();
+        for (Long restaurantId : hotRestaurantTracker.hottest(hotRestaurants)) {
+            if (System.currentTimeMillis() > deadline) {
+                break;
+            }
+            try {
+                Restaurant restaurant = restaurantService.getRestaurantById(restaurantId);
+                MenuVersion version = restaurantService.getMenuVersion(restaurantId);
+                restaurantService.getMenuSnapshot(version);
+                preloaded.add(restaurant);
+            } catch (Exception e) {
+                log.debug("Skipping warm-up of restaurant {}: {}", restaurantId, e.getMessage());
+            }
+        }
+        return preloaded;
+    }
+
+    /**
+     * Sends requests through the full HTTP stack so Tomcat, the message converters and the
+     * controller paths are compiled before real clients arrive.
+     */
+    private int replayTraffic(List<Restaurant> restaurants, long deadline) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return 0;
+        }
+        String baseUrl = "http://localhost:" + port + "/api/restaurants";
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+        int sent = 0;
+        while (sent < syntheticRequests && System.currentTimeMillis() < deadline) {
+            Restaurant restaurant = restaurants.get(sent % restaurants.size());
+            String path = switch (sent % 5) {
+                case 0 -> "/" + restaurant.getId();
+                case 1 -> "/" + restaurant.getId() + "/menu";
+                case 2 -> "/search?q=" + URLEncoder.encode(searchPrefix(restaurant), StandardCharsets.UTF_8);
+                case 3 -> restaurant.getLatitude() != null && restaurant.getLongitude() != null
+                        ? "/nearby?lat=" + restaurant.getLatitude() + "&lng=" + restaurant.getLongitude()
+                        : "";
+                default -> "";
+            };
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header(WARMUP_HEADER, "true")
+                    .header("Accept-Encoding", "gzip")
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (Exception e) {
+                log.debug("Warm-up request {} failed: {}", path, e.getMessage());
+            }
+            sent++;
+        }
+        return sent;
+    }
+
+    private String searchPrefix(Restaurant restaurant) {
+        String name = restaurant.getName() == null ? "" : restaurant.getName().trim();
+        return name.length() > 3 ? name.substring(0, 3) : name;
+    }
+}
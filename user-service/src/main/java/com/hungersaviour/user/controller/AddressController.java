@@ -0,0 +1,52 @@
+package com.hungersaviour.user.controller;
+
+import com.hungersaviour.user.dto.AddressRequest;
+import com.hungersaviour.user.model.Address;
+import com.hungersaviour.user.service.AddressService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/me/addresses")
+@CrossOrigin(origins = "*")
+public class AddressController {
+
+    @Autowired
+    private AddressService addressService;
+
+    @GetMapping
+    public ResponseEntity<List<Address>> getAddresses(Authentication authentication) {
+        return ResponseEntity.ok(addressService.getAddresses(authentication.getName()));
+    }
+
+    @GetMapping("/{addressId}")
+    public ResponseEntity<Address> getAddress(@PathVariable Long addressId, Authentication authentication) {
+        return ResponseEntity.ok(addressService.getAddress(authentication.getName(), addressId));
+    }
+
+    @PostMapping
+    public ResponseEntity<Address> addAddress(@Valid @RequestBody AddressRequest request,
+                                              Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(addressService.addAddress(authentication.getName(), request));
+    }
+
+    @PutMapping("/{addressId}")
+    public ResponseEntity<Address> updateAddress(@PathVariable Long addressId,
+                                                 @Valid @RequestBody AddressRequest request,
+                                                 Authentication authentication) {
+        return ResponseEntity.ok(addressService.updateAddress(authentication.getName(), addressId, request));
+    }
+
+    @DeleteMapping("/{addressId}")
+    public ResponseEntity<Void> deleteAddress(@PathVariable Long addressId, Authentication authentication) {
+        addressService.deleteAddress(authentication.getName(), addressId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,13 +2,21 @@ package com.hungersaviour.user.controller;
 
 import com.hungersaviour.user.dto.AuthResponse;
 import com.hungersaviour.user.dto.LoginRequest;
+import com.hungersaviour.user.dto.RefreshTokenRequest;
 import com.hungersaviour.user.dto.RegisterRequest;
+import com.hungersaviour.user.security.JwtAuthenticationFilter;
+import com.hungersaviour.user.security.JwtUtil;
 import com.hungersaviour.user.service.AuthService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -17,18 +25,65 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${security.gateway-headers.trusted:false}")
+    private boolean trustGatewayHeaders;
+
+    // Hashing completes on the password pool; the request thread is released while it waits
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        return ResponseEntity.ok(authService.register(request));
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request,
+                                                                    HttpServletRequest httpRequest) {
+        return authService.register(request, clientIp(httpRequest)).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                 HttpServletRequest httpRequest) {
+        return authService.login(request, clientIp(httpRequest)).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshTokenRequest request,
+                                       HttpServletRequest httpRequest) {
+        authService.logout(request == null ? null : request.getRefreshToken(), accessTokenId(httpRequest));
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("User Service is running");
     }
+
+    // Called directly with a bearer token, or through the gateway, which forwards only the token id
+    private String accessTokenId(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                return jwtUtil.verify(authorization.substring(7)).getId();
+            } catch (JwtException e) {
+                return null;
+            }
+        }
+        return trustGatewayHeaders ? request.getHeader(JwtAuthenticationFilter.TOKEN_ID_HEADER) : null;
+    }
+
+    /**
+     * The gateway appends the peer it saw to X-Forwarded-For, after anything the client sent, so
+     * only the last entry can be trusted and only when the request came through the gateway.
+     */
+    private String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustGatewayHeaders && forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
@@ -0,0 +1,26 @@
+package com.hungersaviour.user.controller;
+
+import com.hungersaviour.user.security.SigningKeyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class JwksController {
+
+    @Autowired
+    private SigningKeyManager signingKeyManager;
+
+    // Public keys for local token verification; verifiers cache them and refetch on an unknown kid
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(signingKeyManager.jwks());
+    }
+}
@@ -0,0 +1,22 @@
+package com.hungersaviour.user.controller;
+
+import com.hungersaviour.user.dto.RevocationFeedResponse;
+import com.hungersaviour.user.security.RevokedTokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class RevocationController {
+
+    @Autowired
+    private RevokedTokenStore revokedTokenStore;
+
+    // Unexpired access token revocations after the cursor; the gateway polls this into its bloom filter
+    @GetMapping("/internal/revocations")
+    public ResponseEntity<RevocationFeedResponse> revocations(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(revokedTokenStore.feed(since));
+    }
+}
@@ -1,12 +1,18 @@
 package com.hungersaviour.user.controller;
 
+import com.hungersaviour.user.dto.PublicUserResponse;
+import com.hungersaviour.user.dto.UpdateUserRequest;
+import com.hungersaviour.user.dto.UserBatchRequest;
 import com.hungersaviour.user.dto.UserResponse;
-import com.hungersaviour.user.model.User;
 import com.hungersaviour.user.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
@@ -17,14 +23,20 @@ public class UserController {
 
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id);
-        UserResponse response = new UserResponse(
-            user.getId(),
-            user.getEmail(),
-            user.getFullName(),
-            user.getPhoneNumber(),
-            user.getRole()
-        );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(userService.getUserProfile(id));
+    }
+
+    // Many users in one call, e.g. for dashboards and notification enrichment; unknown ids are omitted.
+    // Public fields only, so the endpoint cannot be used to harvest emails and phone numbers in bulk.
+    @PostMapping("/batch")
+    public ResponseEntity<List<PublicUserResponse>> getUsers(@Valid @RequestBody UserBatchRequest request) {
+        return ResponseEntity.ok(userService.getPublicProfiles(request.getIds()));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id,
+                                                   @Valid @RequestBody UpdateUserRequest request,
+                                                   Authentication authentication) {
+        return ResponseEntity.ok(userService.updateUser(id, request, authentication.getName()));
     }
 }
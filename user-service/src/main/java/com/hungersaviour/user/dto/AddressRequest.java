@@ -0,0 +1,24 @@
+package com.hungersaviour.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class AddressRequest {
+    @Size(max = 50, message = "Label must be at most 50 characters")
+    private String label;
+
+    @NotBlank(message = "Street is required")
+    private String street;
+
+    @NotBlank(message = "City is required")
+    private String city;
+
+    private String postalCode;
+
+    @NotBlank(message = "Country is required")
+    private String country;
+
+    private Boolean isDefault;
+}
@@ -10,4 +10,6 @@ public class AuthResponse {
     private String email;
     private String fullName;
     private String role;
+    private String refreshToken;
+    private Long expiresIn; // access token lifetime in seconds
 }
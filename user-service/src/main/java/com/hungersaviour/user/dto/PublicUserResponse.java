@@ -0,0 +1,15 @@
+package com.hungersaviour.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What any signed-in caller may see about another user: no contact details
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicUserResponse {
+    private Long id;
+    private String fullName;
+    private String role;
+}
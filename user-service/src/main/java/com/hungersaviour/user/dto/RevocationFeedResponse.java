@@ -0,0 +1,23 @@
+package com.hungersaviour.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationFeedResponse {
+    private Long cursor; // pass back as ?since=; recent revocations behind it are repeated, see RevokedTokenStore
+    private List<Revocation> revocations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Revocation {
+        private String jti;
+        private Long expiresAt; // epoch millis
+    }
+}
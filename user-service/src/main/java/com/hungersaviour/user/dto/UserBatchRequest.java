@@ -0,0 +1,12 @@
+package com.hungersaviour.user.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserBatchRequest {
+    @NotEmpty(message = "At least one user id is required")
+    private List<Long> ids;
+}
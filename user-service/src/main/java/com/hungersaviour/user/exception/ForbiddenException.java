@@ -0,0 +1,7 @@
+package com.hungersaviour.user.exception;
+
+public class ForbiddenException extends RuntimeException {
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.hungersaviour.user.geocoding;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Canonical form of an address, used as the geocode cache key: upper case, punctuation
+ * dropped, whitespace collapsed and common street words abbreviated, so "12, Main Street" and
+ * "12 main st." share one entry.
+ */
+public final class AddressNormalizer {
+
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+            Map.entry("STREET", "ST"),
+            Map.entry("ROAD", "RD"),
+            Map.entry("AVENUE", "AVE"),
+            Map.entry("BOULEVARD", "BLVD"),
+            Map.entry("LANE", "LN"),
+            Map.entry("DRIVE", "DR"),
+            Map.entry("NAGAR", "NGR"),
+            Map.entry("APARTMENT", "APT"),
+            Map.entry("BUILDING", "BLDG"),
+            Map.entry("FLOOR", "FL"),
+            Map.entry("NORTH", "N"),
+            Map.entry("SOUTH", "S"),
+            Map.entry("EAST", "E"),
+            Map.entry("WEST", "W"));
+
+    private AddressNormalizer() {
+    }
+
+    public static String normalize(String street, String city, String postalCode, String country) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (String part : new String[]{street, city, postalCode, country}) {
+            String normalized = normalizePart(part);
+            if (!normalized.isEmpty()) {
+                joiner.add(normalized);
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static String normalizePart(String part) {
+        if (part == null) {
+            return "";
+        }
+        StringJoiner words = new StringJoiner(" ");
+        for (String word : part.toUpperCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}\\s/-]", " ").trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(ABBREVIATIONS.getOrDefault(word, word));
+            }
+        }
+        return words.toString();
+    }
+}
@@ -0,0 +1,4 @@
+package com.hungersaviour.user.geocoding;
+
+public record GeoPoint(double latitude, double longitude) {
+}
@@ -0,0 +1,84 @@
+package com.hungersaviour.user.geocoding;
+
+import com.hungersaviour.user.model.GeocodeCacheEntry;
+import com.hungersaviour.user.repository.GeocodeCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Geocoding through two LRU tiers keyed by normalized address: an in-memory map per instance
+ * and the shared {@code geocode_cache} table. The provider is only called for addresses
+ * neither tier has seen; a scheduled trim keeps the table at its configured size.
+ */
+@Component
+@Slf4j
+public class GeocodeCache {
+
+    // lastUsedAt only needs day precision for LRU trimming, so hits write at most once a day
+    private static final long TOUCH_INTERVAL_HOURS = 24;
+
+    @Autowired
+    private GeocodeCacheRepository geocodeCacheRepository;
+
+    @Autowired
+    private GeocodingClient geocodingClient;
+
+    @Value("${geocoding.cache.max-entries:100000}")
+    private long maxEntries;
+
+    private final Map<String, CachedPoint> memory;
+
+    public GeocodeCache(@Value("${geocoding.cache.memory-entries:10000}") int memoryEntries) {
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPoint> eldest) {
+                return size() > memoryEntries;
+            }
+        });
+    }
+
+    public Optional<GeoPoint> geocode(String normalizedAddress) {
+        LocalDateTime now = LocalDateTime.now();
+        CachedPoint cached = memory.get(normalizedAddress);
+        if (cached == null) {
+            cached = geocodeCacheRepository.findById(normalizedAddress)
+                    .map(entry -> new CachedPoint(new GeoPoint(entry.getLatitude(), entry.getLongitude()), entry.getLastUsedAt()))
+                    .orElse(null);
+        }
+        if (cached != null) {
+            if (cached.touchedAt.isBefore(now.minusHours(TOUCH_INTERVAL_HOURS))) {
+                geocodeCacheRepository.touch(normalizedAddress, now);
+                cached = new CachedPoint(cached.point, now);
+            }
+            memory.put(normalizedAddress, cached);
+            return Optional.of(cached.point);
+        }
+
+        Optional<GeoPoint> resolved = geocodingClient.geocode(normalizedAddress);
+        resolved.ifPresent(point -> {
+            geocodeCacheRepository.save(new GeocodeCacheEntry(normalizedAddress, point.latitude(), point.longitude(), now, now));
+            memory.put(normalizedAddress, new CachedPoint(point, now));
+        });
+        return resolved;
+    }
+
+    @Scheduled(fixedDelayString = "${geocoding.cache.trim-ms:3600000}")
+    public void trim() {
+        int deleted = geocodeCacheRepository.trimTo(maxEntries);
+        if (deleted > 0) {
+            log.info("Trimmed {} least recently used geocode cache entries", deleted);
+        }
+    }
+
+    private record CachedPoint(GeoPoint point, LocalDateTime touchedAt) {
+    }
+}
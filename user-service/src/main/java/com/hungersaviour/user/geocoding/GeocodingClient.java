@@ -0,0 +1,16 @@
+package com.hungersaviour.user.geocoding;
+
+import java.util.Optional;
+
+/**
+ * Adapter to a geocoding provider. Callers go through {@link GeocodeCache}, so implementations
+ * only see addresses that have not been resolved before.
+ */
+public interface GeocodingClient {
+
+    /**
+     * @param normalizedAddress address as produced by {@link AddressNormalizer}
+     * @return the coordinates, or empty if the provider cannot place the address
+     */
+    Optional<GeoPoint> geocode(String normalizedAddress);
+}
@@ -0,0 +1,42 @@
+package com.hungersaviour.user.geocoding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Stand-in provider for development and tests: places every address at a stable, pseudo-random
+ * point within a radius of a configured city centre. Replace it by registering another
+ * {@link GeocodingClient} and setting {@code geocoding.provider}.
+ */
+@Component
+@ConditionalOnProperty(name = "geocoding.provider", havingValue = "local", matchIfMissing = true)
+public class LocalGeocodingClient implements GeocodingClient {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    @Value("${geocoding.local.center-latitude:18.5204}")
+    private double centerLatitude;
+
+    @Value("${geocoding.local.center-longitude:73.8567}")
+    private double centerLongitude;
+
+    @Value("${geocoding.local.radius-km:15}")
+    private double radiusKm;
+
+    @Override
+    public Optional<GeoPoint> geocode(String normalizedAddress) {
+        if (normalizedAddress == null || normalizedAddress.isBlank()) {
+            return Optional.empty();
+        }
+        long hash = normalizedAddress.hashCode() * 0x9E3779B97F4A7C15L;
+        double angle = ((hash >>> 32) & 0xFFFF) / 65536.0 * 2 * Math.PI;
+        double distanceKm = Math.sqrt((hash & 0xFFFF) / 65536.0) * radiusKm;
+        double latitude = centerLatitude + distanceKm * Math.cos(angle) / KM_PER_DEGREE_LATITUDE;
+        double longitude = centerLongitude + distanceKm * Math.sin(angle)
+                / (KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(centerLatitude)));
+        return Optional.of(new GeoPoint(latitude, longitude));
+    }
+}
@@ -0,0 +1,66 @@
+package com.hungersaviour.user.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saved delivery address. Coordinates are resolved once when the address is saved, so
+ * checkout and distance or fee calculations read them instead of geocoding again.
+ */
+@Entity
+@Table(name = "addresses", indexes = @Index(name = "idx_addresses_user_id", columnList = "userId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Address {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private String label; // e.g. Home, Work
+
+    @Column(nullable = false)
+    private String street;
+
+    @Column(nullable = false)
+    private String city;
+
+    private String postalCode;
+
+    @Column(nullable = false)
+    private String country;
+
+    @Column(nullable = false, length = 512)
+    private String normalizedAddress;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(nullable = false)
+    private Boolean isDefault = false;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,35 @@
+package com.hungersaviour.user.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Geocoding result keyed by normalized address. {@code lastUsedAt} drives LRU trimming of the
+ * table once it grows past its configured size.
+ */
+@Entity
+@Table(name = "geocode_cache", indexes = @Index(name = "idx_geocode_cache_last_used_at", columnList = "lastUsedAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeCacheEntry {
+    @Id
+    @Column(length = 512)
+    private String normalizedAddress;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUsedAt;
+}
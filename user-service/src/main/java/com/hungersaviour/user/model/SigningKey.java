@@ -0,0 +1,31 @@
+package com.hungersaviour.user.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * RSA key pair used to sign JWTs. Keys live in the database so every user-service instance
+ * signs with, and publishes, the same set; the newest key signs, older ones only verify.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+    @Id
+    private String kid;
+
+    @Column(nullable = false, length = 1024)
+    private String publicKey; // base64 X.509 DER
+
+    @Column(nullable = false, length = 4096)
+    private String privateKey; // base64 PKCS#8 DER
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
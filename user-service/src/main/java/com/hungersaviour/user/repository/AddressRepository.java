@@ -0,0 +1,24 @@
+package com.hungersaviour.user.repository;
+
+import com.hungersaviour.user.model.Address;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AddressRepository extends JpaRepository<Address, Long> {
+    List<Address> findByUserIdOrderByIsDefaultDescIdAsc(Long userId);
+
+    Optional<Address> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    @Modifying
+    @Query("UPDATE Address a SET a.isDefault = false WHERE a.userId = :userId AND a.id <> :keepId AND a.isDefault = true")
+    int clearDefault(@Param("userId") Long userId, @Param("keepId") Long keepId);
+}
@@ -0,0 +1,27 @@
+package com.hungersaviour.user.repository;
+
+import com.hungersaviour.user.model.GeocodeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE GeocodeCacheEntry g SET g.lastUsedAt = :usedAt WHERE g.normalizedAddress = :address")
+    int touch(@Param("address") String normalizedAddress, @Param("usedAt") LocalDateTime usedAt);
+
+    // keeps the most recently used entries
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM geocode_cache WHERE normalized_address IN (" +
+                   "SELECT normalized_address FROM geocode_cache ORDER BY last_used_at DESC OFFSET :keep)",
+           nativeQuery = true)
+    int trimTo(@Param("keep") long keep);
+}
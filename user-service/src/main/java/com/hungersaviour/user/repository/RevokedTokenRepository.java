@@ -0,0 +1,23 @@
+package com.hungersaviour.user.repository;
+
+import com.hungersaviour.user.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    List<RevokedToken> findTop5000ByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(Long id, LocalDateTime expiresAt);
+
+    // rows behind the cursor that committed late: ids are taken at insert, not at commit
+    List<RevokedToken> findTop5000ByIdLessThanEqualAndRevokedAtAfterAndExpiresAtAfterOrderByIdAsc(Long id, LocalDateTime revokedAt,
+                                                                                                  LocalDateTime expiresAt);
+
+    boolean existsByJti(String jti);
+
+    @Transactional
+    long deleteByExpiresAtBefore(LocalDateTime expiresAt);
+}
@@ -0,0 +1,17 @@
+package com.hungersaviour.user.repository;
+
+import com.hungersaviour.user.model.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+    List<SigningKey> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime createdAt);
+
+    @Transactional
+    long deleteByCreatedAtBefore(LocalDateTime createdAt);
+}
@@ -1,13 +1,23 @@
 package com.hungersaviour.user.repository;
 
+import com.hungersaviour.user.dto.UserResponse;
 import com.hungersaviour.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // public columns only; the password hash never leaves the database
+    @Query("SELECT new com.hungersaviour.user.dto.UserResponse(u.id, u.email, u.fullName, u.phoneNumber, u.role) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserResponse> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
 }
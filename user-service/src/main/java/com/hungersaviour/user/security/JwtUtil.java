@@ -1,29 +1,52 @@
 package com.hungersaviour.user.security;
 
+import com.hungersaviour.security.jwt.JwtVerifier;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
-    
-    @Value("${jwt.secret:hungerSaviourSecretKeyForJWTTokenGenerationAndValidation12345}")
-    private String secret;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours
+    @Autowired
+    private SigningKeyManager signingKeyManager;
+
+    @Autowired
+    private RevokedTokenStore revokedTokenStore;
+
+    @Value("${jwt.expiration:900000}") // 15 minutes; clients renew with their refresh token
     private Long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.verification-cache.max-entries:10000}")
+    private int maxCachedTokens;
+
+    private JwtVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        // same verifier other services use against the JWKS endpoint, fed from the local key store
+        verifier = new JwtVerifier(signingKeyManager, maxCachedTokens, revokedTokenStore.revocationList());
+    }
+
+    /**
+     * Parses and verifies the token once and returns its claims. Verified claims are cached by
+     * token digest until the token expires, so repeat requests with the same token skip parsing
+     * and the signature check.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with, expired or revoked
+     */
+    public Claims verify(String token) {
+        return verifier.verify(token);
     }
 
     public String extractEmail(String token) {
@@ -35,40 +58,37 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public String generateToken(String email, String role) {
+    public String generateToken(Long userId, String email, String fullName, String role) {
+        // identity and contact claims let downstream services act on the caller without a user lookup
         Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", userId);
+        claims.put("name", fullName);
         claims.put("role", role);
         return createToken(claims, email);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        SigningKeyManager.LoadedKey key = signingKeyManager.currentKey();
         return Jwts.builder()
+                .setHeaderParam("kid", key.kid())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(key.privateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
+    public long getExpirationSeconds() {
+        return expiration / 1000;
+    }
+
     public Boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+        // verify() rejects expired and revoked tokens
+        return email.equals(verify(token).getSubject());
     }
 }
@@ -0,0 +1,103 @@
+package com.hungersaviour.user.security;
+
+import com.hungersaviour.user.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window admission checks that run before any hashing is queued: each client IP gets a
+ * budget of auth attempts per minute, and an account is locked for the rest of its window
+ * after too many failed logins. Counters are per instance.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final long IP_WINDOW_MILLIS = 60_000;
+
+    private final Map<String, Window> ipWindows = new ConcurrentHashMap<>();
+    private final Map<String, Window> accountFailures = new ConcurrentHashMap<>();
+    private final Counter throttledByIp;
+    private final Counter throttledByAccount;
+
+    @Value("${auth.throttle.ip-attempts-per-minute:30}")
+    private int ipAttemptsPerMinute;
+
+    @Value("${auth.throttle.account-failures:5}")
+    private int accountFailureLimit;
+
+    @Value("${auth.throttle.account-lock-minutes:15}")
+    private long accountLockMinutes;
+
+    public LoginThrottle(MeterRegistry meterRegistry) {
+        this.throttledByIp = Counter.builder("auth.throttled").tag("reason", "ip").register(meterRegistry);
+        this.throttledByAccount = Counter.builder("auth.throttled").tag("reason", "account").register(meterRegistry);
+    }
+
+    /**
+     * Counts an attempt from this IP and rejects it if the IP or the account is over its limit.
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+        if (email != null) {
+            Window failures = accountFailures.get(normalize(email));
+            if (failures != null && failures.isActive(now) && failures.count.get() >= accountFailureLimit) {
+                throttledByAccount.increment();
+                throw new TooManyRequestsException("Too many failed logins for this account",
+                        failures.retryAfterSeconds(now));
+            }
+        }
+        Window window = ipWindows.compute(clientIp, (ip, current) ->
+                current == null || !current.isActive(now) ? new Window(now + IP_WINDOW_MILLIS) : current);
+        if (window.count.incrementAndGet() > ipAttemptsPerMinute) {
+            throttledByIp.increment();
+            throw new TooManyRequestsException("Too many attempts from this address", window.retryAfterSeconds(now));
+        }
+    }
+
+    public void recordFailure(String email) {
+        long now = System.currentTimeMillis();
+        accountFailures.compute(normalize(email), (account, current) ->
+                current == null || !current.isActive(now) ? new Window(now + accountLockMinutes * 60_000) : current)
+                .count.incrementAndGet();
+    }
+
+    public void recordSuccess(String email) {
+        accountFailures.remove(normalize(email));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        ipWindows.values().removeIf(window -> !window.isActive(now));
+        accountFailures.values().removeIf(window -> !window.isActive(now));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Window {
+        private final long endsAtMillis;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(long endsAtMillis) {
+            this.endsAtMillis = endsAtMillis;
+        }
+
+        boolean isActive(long now) {
+            return now < endsAtMillis;
+        }
+
+        long retryAfterSeconds(long now) {
+            return Math.max(1, (endsAtMillis - now + 999) / 1000);
+        }
+    }
+}
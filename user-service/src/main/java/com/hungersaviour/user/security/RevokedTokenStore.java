@@ -0,0 +1,132 @@
+package com.hungersaviour.user.security;
+
+import com.hungersaviour.security.jwt.RevocationList;
+import com.hungersaviour.user.dto.RevocationFeedResponse;
+import com.hungersaviour.user.model.RevokedToken;
+import com.hungersaviour.user.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revoked access tokens. The database is the shared record; each instance mirrors the
+ * unexpired entries into a bloom-filtered {@link RevocationList} that the verifier consults on
+ * every request, and polls the table for revocations made on other instances. The same rows
+ * are served as a cursor feed to the gateway.
+ * <p>
+ * Ids come from an identity column and are assigned at insert, so a row can commit after a
+ * higher id the cursor has already passed. Every read therefore also returns the rows behind
+ * the cursor revoked within the last {@code jwt.revocation.overlap-seconds}; revoking twice is
+ * harmless.
+ */
+@Component
+@Slf4j
+public class RevokedTokenStore {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final int PAGE_SIZE = 5000; // matches the findTop5000 queries
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.revocation.overlap-seconds:30}")
+    private long overlapSeconds;
+
+    private RevocationList revocationList;
+    private volatile long cursor;
+
+    @PostConstruct
+    void init() {
+        revocationList = new RevocationList(expectedEntries, falsePositiveRate);
+        sync();
+    }
+
+    public RevocationList revocationList() {
+        return revocationList;
+    }
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revocationList.revoke(jti, expiresAtMillis);
+        if (revokedTokenRepository.existsByJti(jti)) {
+            return;
+        }
+        try {
+            revokedTokenRepository.save(new RevokedToken(null, jti, toLocal(expiresAtMillis), LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // revoked concurrently elsewhere
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:2000}")
+    public synchronized void sync() {
+        long start = cursor;
+        List<RevokedToken> revoked;
+        do {
+            revoked = revokedTokenRepository.findTop5000ByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(cursor, LocalDateTime.now());
+            for (RevokedToken token : revoked) {
+                revocationList.revoke(token.getJti(), toMillis(token.getExpiresAt()));
+                cursor = token.getId();
+            }
+        } while (revoked.size() == PAGE_SIZE);
+        lateCommits(start).forEach(token -> revocationList.revoke(token.getJti(), toMillis(token.getExpiresAt())));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-ms:60000}")
+    public void prune() {
+        revocationList.prune();
+        long deleted = revokedTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Pruned {} expired token revocations", deleted);
+        }
+    }
+
+    public RevocationFeedResponse feed(long since) {
+        List<RevokedToken> revoked = revokedTokenRepository
+                .findTop5000ByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(since, LocalDateTime.now());
+        long next = revoked.isEmpty() ? since : revoked.get(revoked.size() - 1).getId();
+        List<RevocationFeedResponse.Revocation> revocations = new ArrayList<>();
+        for (RevokedToken token : lateCommits(since)) {
+            revocations.add(new RevocationFeedResponse.Revocation(token.getJti(), toMillis(token.getExpiresAt())));
+        }
+        for (RevokedToken token : revoked) {
+            revocations.add(new RevocationFeedResponse.Revocation(token.getJti(), toMillis(token.getExpiresAt())));
+        }
+        return new RevocationFeedResponse(next, revocations);
+    }
+
+    private List<RevokedToken> lateCommits(long cursor) {
+        if (cursor == 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return revokedTokenRepository.findTop5000ByIdLessThanEqualAndRevokedAtAfterAndExpiresAtAfterOrderByIdAsc(
+                cursor, now.minusSeconds(overlapSeconds), now);
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,158 @@
+package com.hungersaviour.user.security;
+
+import com.hungersaviour.security.jwt.PublicKeyProvider;
+import com.hungersaviour.user.model.SigningKey;
+import com.hungersaviour.user.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.*;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Owns the RSA signing keys. A new key is generated once the newest one is older than the
+ * rotation period; retired keys stay published until every token they signed has expired.
+ */
+@Component
+@Slf4j
+public class SigningKeyManager implements PublicKeyProvider {
+
+    private static final Duration MIN_RELOAD_INTERVAL = Duration.ofSeconds(10);
+
+    @Autowired
+    private SigningKeyRepository signingKeyRepository;
+
+    @Value("${jwt.keys.rotation-days:30}")
+    private long rotationDays;
+
+    @Value("${jwt.expiration:900000}")
+    private long tokenLifetimeMillis;
+
+    private volatile List<LoadedKey> keys = List.of(); // newest first
+    private volatile long loadedAtMillis;
+
+    @PostConstruct
+    void init() {
+        rotateIfDue();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-ms:300000}")
+    public synchronized void rotateIfDue() {
+        reload();
+        LocalDateTime now = LocalDateTime.now();
+        if (keys.isEmpty() || keys.get(0).createdAt.isBefore(now.minusDays(rotationDays))) {
+            SigningKey generated = generate(now);
+            signingKeyRepository.save(generated);
+            log.info("Generated JWT signing key {}", generated.getKid());
+            reload();
+        }
+        signingKeyRepository.deleteByCreatedAtBefore(publishedSince(now).minusDays(1));
+    }
+
+    public LoadedKey currentKey() {
+        List<LoadedKey> current = keys;
+        if (current.isEmpty()) {
+            throw new IllegalStateException("No JWT signing key available");
+        }
+        return current.get(0);
+    }
+
+    @Override
+    public PublicKey getKey(String keyId) {
+        LoadedKey key = find(keyId);
+        if (key == null && System.currentTimeMillis() - loadedAtMillis > MIN_RELOAD_INTERVAL.toMillis()) {
+            // possibly rotated by another instance
+            reload();
+            key = find(keyId);
+        }
+        return key == null ? null : key.publicKey;
+    }
+
+    /**
+     * The published keys as a JWK Set (RFC 7517).
+     */
+    public Map<String, Object> jwks() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (LoadedKey key : keys) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("kid", key.kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("n", encoder.encodeToString(unsigned(key.publicKey.getModulus())));
+            jwk.put("e", encoder.encodeToString(unsigned(key.publicKey.getPublicExponent())));
+            jwks.add(jwk);
+        }
+        return Map.of("keys", jwks);
+    }
+
+    private LoadedKey find(String keyId) {
+        for (LoadedKey key : keys) {
+            if (key.kid.equals(keyId)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void reload() {
+        List<LoadedKey> loaded = new ArrayList<>();
+        for (SigningKey key : signingKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(publishedSince(LocalDateTime.now()))) {
+            try {
+                loaded.add(load(key));
+            } catch (GeneralSecurityException e) {
+                log.error("Skipping unreadable JWT signing key {}: {}", key.getKid(), e.getMessage());
+            }
+        }
+        keys = List.copyOf(loaded);
+        loadedAtMillis = System.currentTimeMillis();
+    }
+
+    // a key stops signing after one rotation period and must verify for one token lifetime more
+    private LocalDateTime publishedSince(LocalDateTime now) {
+        return now.minusDays(rotationDays).minus(Duration.ofMillis(tokenLifetimeMillis)).minusHours(1);
+    }
+
+    private static SigningKey generate(LocalDateTime now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair pair = generator.generateKeyPair();
+            Base64.Encoder encoder = Base64.getEncoder();
+            return new SigningKey(UUID.randomUUID().toString(),
+                    encoder.encodeToString(pair.getPublic().getEncoded()),
+                    encoder.encodeToString(pair.getPrivate().getEncoded()),
+                    now);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
+    private static LoadedKey load(SigningKey key) throws GeneralSecurityException {
+        KeyFactory factory = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getDecoder();
+        RSAPublicKey publicKey = (RSAPublicKey) factory.generatePublic(
+                new X509EncodedKeySpec(decoder.decode(key.getPublicKey())));
+        PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(key.getPrivateKey())));
+        return new LoadedKey(key.getKid(), publicKey, privateKey, key.getCreatedAt());
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 && bytes.length > 1 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    public record LoadedKey(String kid, RSAPublicKey publicKey, PrivateKey privateKey, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.hungersaviour.user.service;
+
+import com.hungersaviour.user.dto.AddressRequest;
+import com.hungersaviour.user.exception.InvalidRequestException;
+import com.hungersaviour.user.exception.ResourceNotFoundException;
+import com.hungersaviour.user.geocoding.AddressNormalizer;
+import com.hungersaviour.user.geocoding.GeoPoint;
+import com.hungersaviour.user.geocoding.GeocodeCache;
+import com.hungersaviour.user.model.Address;
+import com.hungersaviour.user.repository.AddressRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class AddressService {
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GeocodeCache geocodeCache;
+
+    @Value("${addresses.max-per-user:20}")
+    private int maxAddressesPerUser;
+
+    public List<Address> getAddresses(String email) {
+        return addressRepository.findByUserIdOrderByIsDefaultDescIdAsc(userId(email));
+    }
+
+    public Address getAddress(String email, Long addressId) {
+        return addressRepository.findByIdAndUserId(addressId, userId(email))
+                .orElseThrow(() -> new ResourceNotFoundException("Address not found with id: " + addressId));
+    }
+
+    @Transactional
+    public Address addAddress(String email, AddressRequest request) {
+        Long userId = userId(email);
+        long existing = addressRepository.countByUserId(userId);
+        if (existing >= maxAddressesPerUser) {
+            throw new InvalidRequestException("At most " + maxAddressesPerUser + " addresses can be saved");
+        }
+        Address address = new Address();
+        address.setUserId(userId);
+        // the first address becomes the default
+        address.setIsDefault(existing == 0 || Boolean.TRUE.equals(request.getIsDefault()));
+        return save(address, request);
+    }
+
+    @Transactional
+    public Address updateAddress(String email, Long addressId, AddressRequest request) {
+        Address address = getAddress(email, addressId);
+        if (request.getIsDefault() != null) {
+            address.setIsDefault(request.getIsDefault());
+        }
+        return save(address, request);
+    }
+
+    @Transactional
+    public void deleteAddress(String email, Long addressId) {
+        addressRepository.delete(getAddress(email, addressId));
+    }
+
+    private Address save(Address address, AddressRequest request) {
+        address.setLabel(request.getLabel());
+        address.setStreet(request.getStreet().trim());
+        address.setCity(request.getCity().trim());
+        address.setPostalCode(request.getPostalCode() == null ? null : request.getPostalCode().trim());
+        address.setCountry(request.getCountry().trim());
+
+        String normalized = AddressNormalizer.normalize(address.getStreet(), address.getCity(),
+                address.getPostalCode(), address.getCountry());
+        if (!normalized.equals(address.getNormalizedAddress()) || address.getLatitude() == null) {
+            // resolved here, once, so checkout only reads the stored coordinates
+            Optional<GeoPoint> point = geocodeCache.geocode(normalized);
+            address.setNormalizedAddress(normalized);
+            address.setLatitude(point.map(GeoPoint::latitude).orElse(null));
+            address.setLongitude(point.map(GeoPoint::longitude).orElse(null));
+        }
+
+        Address saved = addressRepository.save(address);
+        if (saved.getIsDefault()) {
+            addressRepository.clearDefault(saved.getUserId(), saved.getId());
+        }
+        return saved;
+    }
+
+    private Long userId(String email) {
+        return userService.getUserByEmail(email).getId();
+    }
+}
@@ -3,13 +3,21 @@ package com.hungersaviour.user.service;
 import com.hungersaviour.user.dto.AuthResponse;
 import com.hungersaviour.user.dto.LoginRequest;
 import com.hungersaviour.user.dto.RegisterRequest;
+import com.hungersaviour.user.exception.InvalidRequestException;
+import com.hungersaviour.user.exception.UnauthorizedException;
 import com.hungersaviour.user.model.User;
 import com.hungersaviour.user.repository.UserRepository;
 import com.hungersaviour.user.security.JwtUtil;
+import com.hungersaviour.user.security.LoginThrottle;
+import com.hungersaviour.user.security.PasswordHasher;
+import com.hungersaviour.user.security.RevokedTokenStore;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class AuthService {
 
@@ -17,38 +25,87 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
     @Autowired
     private JwtUtil jwtUtil;
 
-    public AuthResponse register(RegisterRequest request) {
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RevokedTokenStore revokedTokenStore;
+
+    // JDBC and token signing after the hash run here, keeping the hashing pool on BCrypt alone
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor completionExecutor;
+
+    public CompletableFuture<AuthResponse> register(RegisterRequest request, String clientIp) {
+        loginThrottle.acquire(clientIp, null);
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
+            throw new InvalidRequestException("Email already exists");
         }
 
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setFullName(request.getFullName());
-        user.setPhoneNumber(request.getPhoneNumber());
-        user.setRole(request.getRole());
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(encodedPassword -> {
+            User user = new User();
+            user.setEmail(request.getEmail());
+            user.setPassword(encodedPassword);
+            user.setFullName(request.getFullName());
+            user.setPhoneNumber(request.getPhoneNumber());
+            user.setRole(request.getRole());
+
+            userRepository.save(user);
+
+            return authResponse(user, refreshTokenService.issue(user.getId()));
+        }, completionExecutor);
+    }
 
-        userRepository.save(user);
+    public CompletableFuture<AuthResponse> login(LoginRequest request, String clientIp) {
+        loginThrottle.acquire(clientIp, request.getEmail());
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        if (user == null) {
+            loginThrottle.recordFailure(request.getEmail());
+            throw new UnauthorizedException("Invalid credentials");
+        }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
-        return new AuthResponse(token, user.getEmail(), user.getFullName(), user.getRole());
+        return passwordHasher.matches(request.getPassword(), user.getPassword()).thenApplyAsync(matches -> {
+            if (!matches) {
+                loginThrottle.recordFailure(request.getEmail());
+                throw new UnauthorizedException("Invalid credentials");
+            }
+            loginThrottle.recordSuccess(request.getEmail());
+            return authResponse(user, refreshTokenService.issue(user.getId()));
+        }, completionExecutor);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+    // No password check here: the refresh token already proves the session, so this stays off the hashing pool
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        return authResponse(user, rotation.refreshToken());
+    }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid credentials");
+    /**
+     * Ends the session of the refresh token and revokes the current access token, if known.
+     * Access tokens carry no expiry here, so the revocation is kept for a full token lifetime.
+     */
+    public void logout(String refreshToken, String accessTokenId) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revokeSession(refreshToken);
         }
+        if (accessTokenId != null) {
+            revokedTokenStore.revoke(accessTokenId, System.currentTimeMillis() + jwtUtil.getExpirationSeconds() * 1000);
+        }
+    }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
-        return new AuthResponse(token, user.getEmail(), user.getFullName(), user.getRole());
+    private AuthResponse authResponse(User user, String refreshToken) {
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getFullName(), user.getRole());
+        return new AuthResponse(token, user.getEmail(), user.getFullName(), user.getRole(),
+                refreshToken, jwtUtil.getExpirationSeconds());
     }
 }
@@ -0,0 +1,98 @@
+package com.hungersaviour.user.service;
+
+import com.hungersaviour.user.exception.UnauthorizedException;
+import com.hungersaviour.user.model.RefreshToken;
+import com.hungersaviour.user.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Tokens are 256 random bits handed to the client once;
+ * only their SHA-256 hash is stored, so a refresh costs one indexed lookup instead of a BCrypt
+ * comparison.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh.expiration-days:30}")
+    private long expirationDays;
+
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Revokes the presented token and issues its successor.
+     *
+     * @return the successor, together with the user it belongs to
+     * @throws UnauthorizedException if the token is unknown, expired or already used
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedAt() != null || refreshTokenRepository.revoke(token.getId(), now) == 0) {
+            // a used token came back: either it leaked or a client replayed it, so end the session
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}; session revoked", token.getUserId());
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+        return new Rotation(token.getUserId(), issue(token.getUserId(), token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeSession(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(rawToken), userId, familyId,
+                now.plusDays(expirationDays), null, now));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+}
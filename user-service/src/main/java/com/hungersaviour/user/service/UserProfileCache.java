@@ -0,0 +1,84 @@
+package com.hungersaviour.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hungersaviour.user.dto.UserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Public user projections in Redis, one key per user. Lookups for many users are a single
+ * MGET and fills a single pipeline. Redis being unavailable only costs the database query.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    private static final String KEY_PREFIX = "user:profile:";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${users.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    public Map<Long, UserResponse> getAll(Collection<Long> ids) {
+        List<Long> keys = new ArrayList<>(ids);
+        Map<Long, UserResponse> cached = new HashMap<>();
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys.stream().map(UserProfileCache::key).toList());
+            for (int i = 0; values != null && i < keys.size(); i++) {
+                if (values.get(i) != null) {
+                    cached.put(keys.get(i), objectMapper.readValue(values.get(i), UserResponse.class));
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("User profile cache read failed: {}", e.getMessage());
+        }
+        return cached;
+    }
+
+    public void putAll(Collection<UserResponse> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> values = new HashMap<>();
+            for (UserResponse user : users) {
+                values.put(key(user.getId()), objectMapper.writeValueAsString(user));
+            }
+            long ttlSeconds = ttlMinutes * 60;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                values.forEach((key, value) -> stringConnection.setEx(key, ttlSeconds, value));
+                return null;
+            });
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("User profile cache write failed: {}", e.getMessage());
+        }
+    }
+
+    public void evict(Long id) {
+        try {
+            redisTemplate.delete(key(id));
+        } catch (DataAccessException e) {
+            // the entry still expires after the TTL
+            log.warn("User profile cache evict for {} failed: {}", id, e.getMessage());
+        }
+    }
+
+    private static String key(Long id) {
+        return KEY_PREFIX + id;
+    }
+}
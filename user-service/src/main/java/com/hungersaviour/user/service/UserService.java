@@ -1,17 +1,31 @@
 package com.hungersaviour.user.service;
 
+import com.hungersaviour.user.dto.PublicUserResponse;
+import com.hungersaviour.user.dto.UpdateUserRequest;
+import com.hungersaviour.user.dto.UserResponse;
+import com.hungersaviour.user.exception.ForbiddenException;
+import com.hungersaviour.user.exception.InvalidRequestException;
 import com.hungersaviour.user.exception.ResourceNotFoundException;
 import com.hungersaviour.user.model.User;
 import com.hungersaviour.user.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 @Service
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Value("${users.batch.max-size:500}")
+    private int maxBatchSize;
+
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
@@ -21,4 +35,54 @@ public class UserService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
+
+    public UserResponse getUserProfile(Long id) {
+        List<UserResponse> profiles = getUserProfiles(List.of(id));
+        if (profiles.isEmpty()) {
+            throw new ResourceNotFoundException("User not found with id: " + id);
+        }
+        return profiles.get(0);
+    }
+
+    public List<PublicUserResponse> getPublicProfiles(List<Long> ids) {
+        return getUserProfiles(ids).stream()
+                .map(profile -> new PublicUserResponse(profile.getId(), profile.getFullName(), profile.getRole()))
+                .toList();
+    }
+
+    /**
+     * Profiles for the given ids, in request order. Cached profiles come from one Redis
+     * round trip, the rest from one projection query; unknown ids are left out.
+     */
+    public List<UserResponse> getUserProfiles(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > maxBatchSize) {
+            throw new InvalidRequestException("At most " + maxBatchSize + " users can be requested at once");
+        }
+        if (distinct.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, UserResponse> profiles = userProfileCache.getAll(distinct);
+        List<Long> missing = distinct.stream().filter(id -> !profiles.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            List<UserResponse> loaded = userRepository.findProfilesByIdIn(missing);
+            loaded.forEach(profile -> profiles.put(profile.getId(), profile));
+            userProfileCache.putAll(loaded);
+        }
+        return distinct.stream().map(profiles::get).filter(Objects::nonNull).toList();
+    }
+
+    public UserResponse updateUser(Long id, UpdateUserRequest request, String callerEmail) {
+        User user = getUserById(id);
+        if (!user.getEmail().equals(callerEmail)) {
+            throw new ForbiddenException("Users can only update their own profile");
+        }
+        user.setFullName(request.getFullName());
+        user.setPhoneNumber(request.getPhoneNumber());
+        User saved = userRepository.save(user);
+        userProfileCache.evict(id);
+        return new UserResponse(saved.getId(), saved.getEmail(), saved.getFullName(), saved.getPhoneNumber(), saved.getRole());
+    }
 }
@@ -0,0 +1,29 @@
+package com.hungersaviour.web.fields;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+
+/**
+ * Opts response types into {@code ?fields=} filtering by {@link SparseFieldsAdvice}. The filter
+ * id is attached through mix-ins on the web ObjectMapper only, and an unregistered filter means
+ * "serialize everything", so other serializers are unaffected.
+ */
+public final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    public static Jackson2ObjectMapperBuilderCustomizer customizer(Class<?>... types) {
+        return builder -> {
+            for (Class<?> type : types) {
+                builder.mixIn(type, Filtered.class);
+            }
+            builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+        };
+    }
+
+    @JsonFilter(SparseFieldsAdvice.FILTER_ID)
+    interface Filtered {
+    }
+}
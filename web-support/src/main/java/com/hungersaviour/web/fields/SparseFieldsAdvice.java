@@ -0,0 +1,77 @@
+package com.hungersaviour.web.fields;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets: {@code ?fields=id,name,cuisine} serializes only those properties of the
+ * top-level object, or of each element of a top-level list. A requested nested property is
+ * written in full. {@code id} is always included so clients can key what they render.
+ * Only types registered through {@link SparseFields#customizer} are filtered.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FILTER_ID = "sparseFields";
+    private static final String FIELDS_PARAM = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        selected.add("id");
+        bodyContainer.setFilters(new SimpleFilterProvider().setFailOnUnknownId(false)
+                .addFilter(FILTER_ID, new TopLevelFilter(selected)));
+    }
+
+    private static class TopLevelFilter extends SimpleBeanPropertyFilter {
+        private final Set<String> selected;
+
+        TopLevelFilter(Set<String> selected) {
+            this.selected = selected;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (!isTopLevel(generator.getOutputContext()) || selected.contains(writer.getName())) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+
+        // the object being written sits at the root, or directly inside a root array
+        private boolean isTopLevel(JsonStreamContext objectContext) {
+            JsonStreamContext parent = objectContext.getParent();
+            return parent == null || parent.inRoot() || (parent.inArray() && parent.getParent().inRoot());
+        }
+    }
+}